@@ -0,0 +1,136 @@
+package findthepath.benchmarks;
+
+import findthepath.graph.ListGraph;
+import findthepath.graph.NodeFormat;
+import findthepath.graph.SpatialGrid;
+
+import java.util.List;
+import java.util.Random;
+
+public enum GraphShape {
+    GRID {
+        @Override
+        ListGraph<Integer> build(int size, Random random) {
+            ListGraph<Integer> graph = newGraph(size);
+            int side = (int) Math.ceil(Math.sqrt(size));
+            for (int node = 0; node < size; node++) {
+                if ((node + 1) % side != 0 && node + 1 < size) {
+                    graph.connect(node, node + 1, "row", randomWeight(random));
+                }
+                if (node + side < size) {
+                    graph.connect(node, node + side, "column", randomWeight(random));
+                }
+            }
+            return graph;
+        }
+    },
+
+    GEOMETRIC {
+        @Override
+        ListGraph<Integer> build(int size, Random random) {
+            ListGraph<Integer> graph = newGraph(size);
+            double[] xs = new double[size];
+            double[] ys = new double[size];
+            for (int node = 0; node < size; node++) {
+                xs[node] = random.nextDouble();
+                ys[node] = random.nextDouble();
+            }
+
+            SpatialGrid<Integer> grid = new SpatialGrid<>(new PointFormat(xs, ys), 2 / Math.sqrt(size));
+            for (int node = 0; node < size; node++) {
+                grid.add(node);
+            }
+
+            double scale = 10 * Math.sqrt(size);
+            for (int node = 0; node < size; node++) {
+                List<Integer> neighbours = grid.nearest(xs[node], ys[node], GEOMETRIC_NEIGHBOURS + 1);
+                for (int neighbour : neighbours) {
+                    if (neighbour != node && graph.getEdgeBetween(node, neighbour) == null) {
+                        double distance = Math.hypot(xs[node] - xs[neighbour], ys[node] - ys[neighbour]);
+                        graph.connect(node, neighbour, "road", 1 + (int) (distance * scale));
+                    }
+                }
+            }
+            return graph;
+        }
+    },
+
+    SCALE_FREE {
+        @Override
+        ListGraph<Integer> build(int size, Random random) {
+            ListGraph<Integer> graph = newGraph(size);
+            int[] endpoints = new int[2 * SCALE_FREE_LINKS * size];
+            int endpointCount = 0;
+
+            for (int node = 1; node <= SCALE_FREE_LINKS && node < size; node++) {
+                for (int other = 0; other < node; other++) {
+                    graph.connect(node, other, "seed", randomWeight(random));
+                    endpoints[endpointCount++] = node;
+                    endpoints[endpointCount++] = other;
+                }
+            }
+
+            for (int node = SCALE_FREE_LINKS + 1; node < size; node++) {
+                int links = 0;
+                while (links < SCALE_FREE_LINKS) {
+                    int target = endpoints[random.nextInt(endpointCount)];
+                    if (graph.getEdgeBetween(node, target) == null) {
+                        graph.connect(node, target, "link", randomWeight(random));
+                        endpoints[endpointCount++] = node;
+                        endpoints[endpointCount++] = target;
+                        links++;
+                    }
+                }
+            }
+            return graph;
+        }
+    };
+
+    private static final int GEOMETRIC_NEIGHBOURS = 4;
+    private static final int SCALE_FREE_LINKS = 2;
+    private static final int MAXIMUM_WEIGHT = 100;
+
+    abstract ListGraph<Integer> build(int size, Random random);
+
+    private static ListGraph<Integer> newGraph(int size) {
+        ListGraph<Integer> graph = new ListGraph<>();
+        for (int node = 0; node < size; node++) {
+            graph.add(node);
+        }
+        return graph;
+    }
+
+    private static int randomWeight(Random random) {
+        return 1 + random.nextInt(MAXIMUM_WEIGHT);
+    }
+
+    private static class PointFormat implements NodeFormat<Integer> {
+        private final double[] xs;
+        private final double[] ys;
+
+        PointFormat(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        @Override
+        public Integer create(String name, double x, double y) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName(Integer node) {
+            return node.toString();
+        }
+
+        @Override
+        public double getX(Integer node) {
+            return xs[node];
+        }
+
+        @Override
+        public double getY(Integer node) {
+            return ys[node];
+        }
+    }
+}
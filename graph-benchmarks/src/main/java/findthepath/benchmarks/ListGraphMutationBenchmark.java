@@ -0,0 +1,72 @@
+package findthepath.benchmarks;
+
+import findthepath.graph.ListGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, batchSize = ListGraphMutationBenchmark.BATCH_SIZE)
+@Measurement(iterations = 10, batchSize = ListGraphMutationBenchmark.BATCH_SIZE)
+@Fork(1)
+public class ListGraphMutationBenchmark {
+    static final int BATCH_SIZE = 1000;
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    private GraphShape shape;
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ListGraph<Integer> graph;
+    private int[] connectFrom;
+    private int[] connectTo;
+    private int[] removals;
+    private int operation;
+    private int iteration;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(size * 31L + shape.ordinal() + 1_000_003L * iteration++);
+        graph = shape.build(size, random);
+
+        connectFrom = new int[BATCH_SIZE];
+        connectTo = new int[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int from;
+            int to;
+            do {
+                from = random.nextInt(size);
+                to = random.nextInt(size);
+            } while (from == to || graph.getEdgeBetween(from, to) != null || isPlanned(from, to, i));
+            connectFrom[i] = from;
+            connectTo[i] = to;
+        }
+
+        removals = random.ints(0, size).distinct().limit(Math.min(BATCH_SIZE, size)).toArray();
+        operation = 0;
+    }
+
+    private boolean isPlanned(int from, int to, int count) {
+        for (int i = 0; i < count; i++) {
+            if ((connectFrom[i] == from && connectTo[i] == to) || (connectFrom[i] == to && connectTo[i] == from)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public void connect() {
+        int i = operation++;
+        graph.connect(connectFrom[i], connectTo[i], "benchmark", 1);
+    }
+
+    @Benchmark
+    public void remove() {
+        graph.remove(removals[operation++]);
+    }
+}
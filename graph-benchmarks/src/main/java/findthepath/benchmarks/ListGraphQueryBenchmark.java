@@ -0,0 +1,77 @@
+package findthepath.benchmarks;
+
+import findthepath.graph.Edge;
+import findthepath.graph.ListGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListGraphQueryBenchmark {
+    private static final int QUERIES = 1 << 10;
+
+    @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+    private GraphShape shape;
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ListGraph<Integer> graph;
+    private int[] sources;
+    private int[] targets;
+    private int[] neighbours;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(size * 31L + shape.ordinal());
+        graph = shape.build(size, random);
+
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        neighbours = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(size);
+            targets[i] = random.nextInt(size);
+
+            List<Edge<Integer>> edges = new ArrayList<>(graph.getEdgesFrom(sources[i]));
+            neighbours[i] = edges.isEmpty() ? targets[i] : edges.get(random.nextInt(edges.size())).getDestination();
+        }
+    }
+
+    private int nextQuery() {
+        query = (query + 1) & (QUERIES - 1);
+        return query;
+    }
+
+    @Benchmark
+    public Edge<Integer> getEdgeBetweenConnected() {
+        int i = nextQuery();
+        return graph.getEdgeBetween(sources[i], neighbours[i]);
+    }
+
+    @Benchmark
+    public Edge<Integer> getEdgeBetweenRandom() {
+        int i = nextQuery();
+        return graph.getEdgeBetween(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public boolean pathExists() {
+        int i = nextQuery();
+        return graph.pathExists(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Edge<Integer>> getPath() {
+        int i = nextQuery();
+        return graph.getPath(sources[i], targets[i]);
+    }
+}
@@ -0,0 +1,183 @@
+package findthepath.graph;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BinaryGraphWriter<T> {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final NodeFormat<T> format;
+
+    public BinaryGraphWriter(NodeFormat<T> format) {
+        this.format = format;
+    }
+
+    public void write(Graph<T> graph, Path file) throws IOException {
+        CsrGraph<T> snapshot = graph instanceof CsrGraph ? (CsrGraph<T>) graph : new CsrGraph<>(graph);
+        int nodeCount = snapshot.getNodeCount();
+        int arcCount = snapshot.getArcStart(nodeCount);
+
+        ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        Map<String, Integer> poolOffsets = new HashMap<>();
+        int[] nodeNames = new int[nodeCount * 2];
+        int[] arcNames = new int[arcCount * 2];
+        for (int node = 0; node < nodeCount; node++) {
+            intern(format.getName(snapshot.getNode(node)), pool, poolOffsets, nodeNames, node);
+        }
+        for (int arc = 0; arc < arcCount; arc++) {
+            intern(snapshot.getArcName(arc), pool, poolOffsets, arcNames, arc);
+        }
+
+        int hashCapacity = Integer.highestOneBit(Math.max(nodeCount, 1) * 2 - 1) * 2;
+        int[] hashTable = new int[hashCapacity];
+        for (int node = 0; node < nodeCount; node++) {
+            int slot = MappedGraph.hash(format.getName(snapshot.getNode(node))) & (hashCapacity - 1);
+            while (hashTable[slot] != 0) {
+                slot = (slot + 1) & (hashCapacity - 1);
+            }
+            hashTable[slot] = node + 1;
+        }
+
+        long nodesOffset = MappedGraph.HEADER_SIZE;
+        long offsetsOffset = align(nodesOffset + (long) nodeCount * MappedGraph.NODE_RECORD_SIZE);
+        long targetsOffset = align(offsetsOffset + (nodeCount + 1L) * Integer.BYTES);
+        long weightsOffset = align(targetsOffset + (long) arcCount * Integer.BYTES);
+        long arcNamesOffset = align(weightsOffset + (long) arcCount * Integer.BYTES);
+        long hashOffset = align(arcNamesOffset + (long) arcCount * 2 * Integer.BYTES);
+        long poolOffset = align(hashOffset + (long) hashCapacity * Integer.BYTES);
+        if (poolOffset + pool.size() > Integer.MAX_VALUE) {
+            throw new IOException("Binary graph file larger than 2 GB");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output output = new Output(channel);
+
+            output.putInt(MappedGraph.MAGIC);
+            output.putInt(MappedGraph.VERSION);
+            output.putInt(nodeCount);
+            output.putInt(arcCount);
+            output.putInt(hashCapacity);
+            output.putInt(0);
+            output.putLong(nodesOffset);
+            output.putLong(offsetsOffset);
+            output.putLong(targetsOffset);
+            output.putLong(weightsOffset);
+            output.putLong(arcNamesOffset);
+            output.putLong(hashOffset);
+            output.putLong(poolOffset);
+            output.putLong(pool.size());
+
+            for (int node = 0; node < nodeCount; node++) {
+                T value = snapshot.getNode(node);
+                output.putInt(nodeNames[node * 2]);
+                output.putInt(nodeNames[node * 2 + 1]);
+                output.putDouble(format.getX(value));
+                output.putDouble(format.getY(value));
+            }
+
+            output.padTo(offsetsOffset);
+            for (int node = 0; node <= nodeCount; node++) {
+                output.putInt(snapshot.getArcStart(node));
+            }
+            output.padTo(targetsOffset);
+            for (int arc = 0; arc < arcCount; arc++) {
+                output.putInt(snapshot.getArcTarget(arc));
+            }
+            output.padTo(weightsOffset);
+            for (int arc = 0; arc < arcCount; arc++) {
+                output.putInt(snapshot.getArcWeight(arc));
+            }
+            output.padTo(arcNamesOffset);
+            for (int value : arcNames) {
+                output.putInt(value);
+            }
+            output.padTo(hashOffset);
+            for (int value : hashTable) {
+                output.putInt(value);
+            }
+            output.padTo(poolOffset);
+            output.putBytes(pool.toByteArray());
+            output.flush();
+        }
+    }
+
+    private static void intern(String name, ByteArrayOutputStream pool, Map<String, Integer> poolOffsets,
+                               int[] references, int index) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        Integer offset = poolOffsets.get(name);
+        if (offset == null) {
+            offset = pool.size();
+            poolOffsets.put(name, offset);
+            pool.write(bytes, 0, bytes.length);
+        }
+        references[index * 2] = offset;
+        references[index * 2 + 1] = bytes.length;
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long written;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putDouble(double value) throws IOException {
+            ensureRemaining(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (int start = 0; start < bytes.length; start += BUFFER_SIZE) {
+                int length = Math.min(BUFFER_SIZE, bytes.length - start);
+                ensureRemaining(length);
+                buffer.put(bytes, start, length);
+            }
+        }
+
+        void padTo(long offset) throws IOException {
+            while (written + buffer.position() < offset) {
+                ensureRemaining(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package findthepath.graph;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleBiFunction;
+
+public class CachingGraph<T> implements Graph<T> {
+
+    private final Graph<T> graph;
+    private final int maximumEntries;
+    private final long maximumEdges;
+    private final LinkedHashMap<RouteKey<T>, CachedRoute<T>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long cachedEdges;
+
+    public CachingGraph(Graph<T> graph, int maximumEntries, long maximumEdges) {
+        if (maximumEntries < 0 || maximumEdges < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        this.maximumEntries = maximumEntries;
+        this.maximumEdges = maximumEdges;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public synchronized int getSize() {
+        return cache.size();
+    }
+
+    public synchronized long getCachedEdgeCount() {
+        return cachedEdges;
+    }
+
+    public synchronized void invalidate() {
+        cache.clear();
+        cachedEdges = 0;
+    }
+
+    @Override
+    public void add(T node) {
+        graph.add(node);
+        invalidate();
+    }
+
+    @Override
+    public void connect(T node1, T node2, String name, int weight) {
+        graph.connect(node1, node2, name, weight);
+        invalidate();
+    }
+
+    @Override
+    public void setConnectionWeight(T node1, T node2, int weight) {
+        graph.setConnectionWeight(node1, node2, weight);
+        invalidate();
+    }
+
+    @Override
+    public Set<T> getNodes() {
+        return graph.getNodes();
+    }
+
+    @Override
+    public Collection<Edge<T>> getEdgesFrom(T node) {
+        return graph.getEdgesFrom(node);
+    }
+
+    @Override
+    public Edge<T> getEdgeBetween(T node1, T node2) {
+        return graph.getEdgeBetween(node1, node2);
+    }
+
+    @Override
+    public void disconnect(T node1, T node2) {
+        graph.disconnect(node1, node2);
+        invalidate();
+    }
+
+    @Override
+    public void remove(T node) {
+        graph.remove(node);
+        invalidate();
+    }
+
+    @Override
+    public boolean pathExists(T from, T to) {
+        return graph.pathExists(from, to);
+    }
+
+    @Override
+    public List<Edge<T>> getPath(T from, T to) {
+        Route<T> route = shortestPath(from, to);
+
+        if (route == null || route.getEdges().isEmpty())
+            return null;
+        else
+            return route.getEdges();
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to) {
+        RouteKey<T> key = new RouteKey<>(from, to);
+        long modificationCount = graph.getModificationCount();
+
+        synchronized (this) {
+            CachedRoute<T> cached = cache.get(key);
+            if (cached != null && cached.modificationCount == modificationCount) {
+                hits.incrementAndGet();
+                return cached.route;
+            }
+        }
+
+        misses.incrementAndGet();
+        Route<T> route = graph.shortestPath(from, to);
+        store(key, new CachedRoute<>(route, modificationCount));
+        return route;
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic) {
+        return graph.shortestPath(from, to, heuristic);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k) {
+        return graph.kShortestPaths(from, to, k);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k, double maximumOverlap) {
+        return graph.kShortestPaths(from, to, k, maximumOverlap);
+    }
+
+    @Override
+    public ShortestPathTree<T> shortestPathTree(T source) {
+        return graph.shortestPathTree(source);
+    }
+
+    @Override
+    public long getModificationCount() {
+        return graph.getModificationCount();
+    }
+
+    private synchronized void store(RouteKey<T> key, CachedRoute<T> entry) {
+        if (entry.modificationCount != graph.getModificationCount() || entry.getEdgeCount() > maximumEdges) {
+            return;
+        }
+
+        CachedRoute<T> previous = cache.put(key, entry);
+        if (previous != null) {
+            cachedEdges -= previous.getEdgeCount();
+        }
+        cachedEdges += entry.getEdgeCount();
+
+        Iterator<CachedRoute<T>> eldest = cache.values().iterator();
+        while (cache.size() > maximumEntries || cachedEdges > maximumEdges) {
+            CachedRoute<T> evicted = eldest.next();
+            eldest.remove();
+            cachedEdges -= evicted.getEdgeCount();
+            evictions.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+    private static class RouteKey<T> {
+        private final T from;
+        private final T to;
+
+        RouteKey(T from, T to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey<?> key = (RouteKey<?>) other;
+            return from.equals(key.from) && to.equals(key.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * from.hashCode() + to.hashCode();
+        }
+    }
+
+    private static class CachedRoute<T> {
+        private final Route<T> route;
+        private final long modificationCount;
+
+        CachedRoute(Route<T> route, long modificationCount) {
+            this.route = route;
+            this.modificationCount = modificationCount;
+        }
+
+        int getEdgeCount() {
+            return route == null ? 0 : route.getEdges().size();
+        }
+    }
+}
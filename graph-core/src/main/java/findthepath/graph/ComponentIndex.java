@@ -0,0 +1,195 @@
+package findthepath.graph;
+
+import java.util.*;
+import java.util.function.Function;
+
+public class ComponentIndex<T> {
+
+    private final Function<T, Collection<T>> neighbours;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final IntList freeIds = new IntList();
+    private final IntList dirtyRoots = new IntList();
+    private Object[] nodes = new Object[16];
+    private int[] parents = new int[16];
+    private int[] sizes = new int[16];
+    private int[] nextMembers = new int[16];
+    private boolean[] dirty = new boolean[16];
+    private int idCount;
+    private int componentCount;
+
+    public ComponentIndex(Function<T, Collection<T>> neighbours) {
+        this.neighbours = neighbours;
+    }
+
+    public void add(T node) {
+        if (ids.containsKey(node)) {
+            return;
+        }
+
+        int id = freeIds.isEmpty() ? newId() : freeIds.removeLast();
+        ids.put(node, id);
+        nodes[id] = node;
+        parents[id] = id;
+        sizes[id] = 1;
+        nextMembers[id] = id;
+        dirty[id] = false;
+        componentCount++;
+    }
+
+    public void union(T nodeA, T nodeB) {
+        union(getId(nodeA), getId(nodeB));
+    }
+
+    public void invalidate(T node) {
+        markDirty(find(getId(node)));
+    }
+
+    public void remove(T node) {
+        int id = getId(node);
+        int root = find(id);
+
+        ids.remove(node);
+        nodes[id] = null;
+        sizes[root]--;
+        markDirty(root);
+    }
+
+    public boolean connected(T nodeA, T nodeB) {
+        return findClean(getId(nodeA)) == findClean(getId(nodeB));
+    }
+
+    public int getComponentSize(T node) {
+        return sizes[findClean(getId(node))];
+    }
+
+    public int getComponentCount() {
+        rebuildDirty();
+        return componentCount;
+    }
+
+    public int[] getComponentSizes() {
+        rebuildDirty();
+
+        int[] componentSizes = new int[componentCount];
+        int index = 0;
+        for (int id = 0; id < idCount; id++) {
+            if (nodes[id] != null && parents[id] == id) {
+                componentSizes[index++] = sizes[id];
+            }
+        }
+        return componentSizes;
+    }
+
+    private int getId(T node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            throw new NoSuchElementException();
+        }
+        return id;
+    }
+
+    private int newId() {
+        if (idCount == parents.length) {
+            int capacity = idCount * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            parents = Arrays.copyOf(parents, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            nextMembers = Arrays.copyOf(nextMembers, capacity);
+            dirty = Arrays.copyOf(dirty, capacity);
+        }
+        return idCount++;
+    }
+
+    private int find(int id) {
+        while (parents[id] != id) {
+            parents[id] = parents[parents[id]];
+            id = parents[id];
+        }
+        return id;
+    }
+
+    private int findClean(int id) {
+        int root = find(id);
+        if (dirty[root]) {
+            rebuild(root);
+            root = find(id);
+        }
+        return root;
+    }
+
+    private void union(int idA, int idB) {
+        int rootA = find(idA);
+        int rootB = find(idB);
+        if (rootA == rootB) {
+            return;
+        }
+
+        if (sizes[rootA] < sizes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parents[rootB] = rootA;
+        sizes[rootA] += sizes[rootB];
+
+        int next = nextMembers[rootA];
+        nextMembers[rootA] = nextMembers[rootB];
+        nextMembers[rootB] = next;
+
+        if (dirty[rootB]) {
+            markDirty(rootA);
+        }
+        componentCount--;
+    }
+
+    private void markDirty(int root) {
+        if (!dirty[root]) {
+            dirty[root] = true;
+            dirtyRoots.add(root);
+        }
+    }
+
+    private void rebuildDirty() {
+        while (!dirtyRoots.isEmpty()) {
+            int root = find(dirtyRoots.removeLast());
+            if (dirty[root]) {
+                rebuild(root);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild(int root) {
+        IntList members = new IntList();
+        int member = root;
+        do {
+            members.add(member);
+            member = nextMembers[member];
+        } while (member != root);
+
+        componentCount--;
+        for (int i = 0; i < members.size(); i++) {
+            int id = members.get(i);
+            dirty[id] = false;
+            if (nodes[id] == null) {
+                parents[id] = id;
+                nextMembers[id] = id;
+                freeIds.add(id);
+            } else {
+                parents[id] = id;
+                sizes[id] = 1;
+                nextMembers[id] = id;
+                componentCount++;
+            }
+        }
+
+        for (int i = 0; i < members.size(); i++) {
+            int id = members.get(i);
+            if (nodes[id] != null) {
+                for (T neighbour : neighbours.apply((T) nodes[id])) {
+                    union(id, ids.get(neighbour));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package findthepath.graph;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleBiFunction;
+
+public class ConcurrentGraph<T> implements Graph<T> {
+
+    private final ListGraph<T> master = new ListGraph<>();
+    private final AtomicReference<CsrGraph<T>> snapshot;
+
+    public ConcurrentGraph() {
+        snapshot = new AtomicReference<>(new CsrGraph<>(master));
+    }
+
+    public ConcurrentGraph(Graph<T> graph) {
+        for (T node : graph.getNodes()) {
+            master.add(node);
+        }
+        for (T node : graph.getNodes()) {
+            for (Edge<T> edge : graph.getEdgesFrom(node)) {
+                if (master.getEdgeBetween(node, edge.getDestination()) == null) {
+                    master.connect(node, edge.getDestination(), edge.getName(), edge.getWeight());
+                }
+            }
+        }
+        snapshot = new AtomicReference<>(new CsrGraph<>(master));
+    }
+
+    public CsrGraph<T> snapshot() {
+        return snapshot.get();
+    }
+
+    public synchronized void update(Consumer<Graph<T>> mutation) {
+        try {
+            mutation.accept(master);
+        } finally {
+            publish();
+        }
+    }
+
+    @Override
+    public synchronized void add(T node) {
+        master.add(node);
+        publish();
+    }
+
+    @Override
+    public synchronized void connect(T node1, T node2, String name, int weight) {
+        master.connect(node1, node2, name, weight);
+        publish();
+    }
+
+    @Override
+    public synchronized void setConnectionWeight(T node1, T node2, int weight) {
+        master.setConnectionWeight(node1, node2, weight);
+
+        CsrGraph<T> current = snapshot.get();
+        if (current.getModificationCount() + 1 == master.getModificationCount())
+            snapshot.set(current.withConnectionWeight(node1, node2, weight, master.getModificationCount()));
+        else
+            publish();
+    }
+
+    @Override
+    public Set<T> getNodes() {
+        return snapshot.get().getNodes();
+    }
+
+    @Override
+    public Collection<Edge<T>> getEdgesFrom(T node) {
+        return snapshot.get().getEdgesFrom(node);
+    }
+
+    @Override
+    public Edge<T> getEdgeBetween(T node1, T node2) {
+        return snapshot.get().getEdgeBetween(node1, node2);
+    }
+
+    @Override
+    public synchronized void disconnect(T node1, T node2) {
+        master.disconnect(node1, node2);
+        publish();
+    }
+
+    @Override
+    public synchronized void remove(T node) {
+        master.remove(node);
+        publish();
+    }
+
+    @Override
+    public boolean pathExists(T from, T to) {
+        return snapshot.get().pathExists(from, to);
+    }
+
+    @Override
+    public List<Edge<T>> getPath(T from, T to) {
+        return snapshot.get().getPath(from, to);
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to) {
+        return snapshot.get().shortestPath(from, to);
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic) {
+        return snapshot.get().shortestPath(from, to, heuristic);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k) {
+        return snapshot.get().kShortestPaths(from, to, k);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k, double maximumOverlap) {
+        return snapshot.get().kShortestPaths(from, to, k, maximumOverlap);
+    }
+
+    @Override
+    public ShortestPathTree<T> shortestPathTree(T source) {
+        return snapshot.get().shortestPathTree(source);
+    }
+
+    public synchronized void setMetrics(GraphMetrics metrics) {
+        master.setMetrics(metrics);
+        snapshot.get().setMetrics(metrics);
+    }
+
+    public GraphMetrics getMetrics() {
+        return snapshot.get().getMetrics();
+    }
+
+    @Override
+    public long getModificationCount() {
+        return snapshot.get().getModificationCount();
+    }
+
+    private void publish() {
+        CsrGraph<T> current = snapshot.get();
+        if (current.getModificationCount() != master.getModificationCount()) {
+            CsrGraph<T> next = new CsrGraph<>(master);
+            next.setMetrics(master.getMetrics());
+            next.shareSearchSpaces(current);
+            snapshot.set(next);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return snapshot.get().toString();
+    }
+}
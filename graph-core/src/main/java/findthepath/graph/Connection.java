@@ -0,0 +1,34 @@
+package findthepath.graph;
+
+public class Connection {
+    private final String name;
+    private volatile int weight;
+
+    public Connection(String name, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.name = name;
+        this.weight = weight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    void setWeight(int newWeight) {
+        if (newWeight < 0) {
+            throw new IllegalArgumentException();
+        }
+        weight = newWeight;
+    }
+
+    @Override
+    public String toString() {
+        return name + " takes " + weight;
+    }
+}
@@ -0,0 +1,508 @@
+package findthepath.graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+public class ContractionHierarchy<T> {
+
+    private static final int PRIORITY_SETTLE_LIMIT = 64;
+    private static final int CONTRACTION_SETTLE_LIMIT = 512;
+
+    private final Graph<T> graph;
+    private volatile Hierarchy<T> hierarchy;
+
+    public ContractionHierarchy(Graph<T> graph) {
+        this.graph = graph;
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        hierarchy = build(graph);
+    }
+
+    public boolean isStale() {
+        return hierarchy.modificationCount != graph.getModificationCount();
+    }
+
+    public int getShortcutCount() {
+        return hierarchy.arcFirst.length - hierarchy.originalEdges.size();
+    }
+
+    public List<Edge<T>> getPath(T from, T to) {
+        Route<T> route = shortestPath(from, to);
+
+        if (route == null || route.getEdges().isEmpty())
+            return null;
+        else
+            return route.getEdges();
+    }
+
+    public Route<T> shortestPath(T from, T to) {
+        Hierarchy<T> current = hierarchy;
+        if (current.modificationCount != graph.getModificationCount()) {
+            synchronized (this) {
+                if (isStale()) {
+                    rebuild();
+                }
+                current = hierarchy;
+            }
+        }
+        return current.query(from, to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Hierarchy<T> build(Graph<T> graph) {
+        long modificationCount = graph.getModificationCount();
+
+        Map<T, Integer> ids = new HashMap<>();
+        List<T> nodes = new ArrayList<>(graph.getNodes());
+        for (T node : nodes) {
+            ids.put(node, ids.size());
+        }
+
+        int nodeCount = nodes.size();
+        Overlay overlay = new Overlay(nodeCount);
+        List<Edge<T>> originalEdges = new ArrayList<>();
+        for (int from = 0; from < nodeCount; from++) {
+            for (Edge<T> edge : graph.getEdgesFrom(nodes.get(from))) {
+                overlay.addArc(from, ids.get(edge.getDestination()), edge.getWeight(), -1, -1);
+                originalEdges.add(edge);
+            }
+        }
+
+        int[] ranks = overlay.contract();
+
+        Hierarchy<T> hierarchy = new Hierarchy<>();
+        hierarchy.modificationCount = modificationCount;
+        hierarchy.ids = ids;
+        hierarchy.originalEdges = originalEdges;
+        hierarchy.arcFrom = Arrays.copyOf(overlay.arcFrom, overlay.arcCount);
+        hierarchy.arcTo = Arrays.copyOf(overlay.arcTo, overlay.arcCount);
+        hierarchy.arcFirst = Arrays.copyOf(overlay.arcFirst, overlay.arcCount);
+        hierarchy.arcSecond = Arrays.copyOf(overlay.arcSecond, overlay.arcCount);
+        hierarchy.spaces = new ConcurrentLinkedQueue<>();
+
+        hierarchy.upOffsets = new int[nodeCount + 1];
+        hierarchy.downOffsets = new int[nodeCount + 1];
+        for (int arc = 0; arc < overlay.arcCount; arc++) {
+            int from = overlay.arcFrom[arc];
+            int to = overlay.arcTo[arc];
+            if (ranks[from] < ranks[to])
+                hierarchy.upOffsets[from + 1]++;
+            else
+                hierarchy.downOffsets[to + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            hierarchy.upOffsets[node + 1] += hierarchy.upOffsets[node];
+            hierarchy.downOffsets[node + 1] += hierarchy.downOffsets[node];
+        }
+
+        hierarchy.upTargets = new int[hierarchy.upOffsets[nodeCount]];
+        hierarchy.upWeights = new long[hierarchy.upOffsets[nodeCount]];
+        hierarchy.upArcs = new int[hierarchy.upOffsets[nodeCount]];
+        hierarchy.downSources = new int[hierarchy.downOffsets[nodeCount]];
+        hierarchy.downWeights = new long[hierarchy.downOffsets[nodeCount]];
+        hierarchy.downArcs = new int[hierarchy.downOffsets[nodeCount]];
+        int[] upFill = Arrays.copyOf(hierarchy.upOffsets, nodeCount);
+        int[] downFill = Arrays.copyOf(hierarchy.downOffsets, nodeCount);
+        for (int arc = 0; arc < overlay.arcCount; arc++) {
+            int from = overlay.arcFrom[arc];
+            int to = overlay.arcTo[arc];
+            if (ranks[from] < ranks[to]) {
+                int index = upFill[from]++;
+                hierarchy.upTargets[index] = to;
+                hierarchy.upWeights[index] = overlay.arcWeight[arc];
+                hierarchy.upArcs[index] = arc;
+            } else {
+                int index = downFill[to]++;
+                hierarchy.downSources[index] = from;
+                hierarchy.downWeights[index] = overlay.arcWeight[arc];
+                hierarchy.downArcs[index] = arc;
+            }
+        }
+        return hierarchy;
+    }
+
+    private static class Overlay {
+        private final int nodeCount;
+        private final IntList[] outArcs;
+        private final IntList[] inArcs;
+        private final boolean[] contracted;
+        private final ConcurrentLinkedQueue<SearchSpace> spaces = new ConcurrentLinkedQueue<>();
+
+        private int arcCount;
+        private int[] arcFrom = new int[16];
+        private int[] arcTo = new int[16];
+        private int[] arcFirst = new int[16];
+        private int[] arcSecond = new int[16];
+        private long[] arcWeight = new long[16];
+
+        Overlay(int nodeCount) {
+            this.nodeCount = nodeCount;
+            outArcs = new IntList[nodeCount];
+            inArcs = new IntList[nodeCount];
+            contracted = new boolean[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                outArcs[node] = new IntList(4);
+                inArcs[node] = new IntList(4);
+            }
+        }
+
+        void addArc(int from, int to, long weight, int first, int second) {
+            if (arcCount == arcFrom.length) {
+                int capacity = arcCount * 2;
+                arcFrom = Arrays.copyOf(arcFrom, capacity);
+                arcTo = Arrays.copyOf(arcTo, capacity);
+                arcFirst = Arrays.copyOf(arcFirst, capacity);
+                arcSecond = Arrays.copyOf(arcSecond, capacity);
+                arcWeight = Arrays.copyOf(arcWeight, capacity);
+            }
+            arcFrom[arcCount] = from;
+            arcTo[arcCount] = to;
+            arcFirst[arcCount] = first;
+            arcSecond[arcCount] = second;
+            arcWeight[arcCount] = weight;
+            outArcs[from].add(arcCount);
+            inArcs[to].add(arcCount);
+            arcCount++;
+        }
+
+        int[] contract() {
+            int[] ranks = new int[nodeCount];
+            int[] priorities = new int[nodeCount];
+            int[] contractedNeighbours = new int[nodeCount];
+            boolean[] dirty = new boolean[nodeCount];
+            boolean[] inRound = new boolean[nodeCount];
+            Arrays.fill(dirty, true);
+
+            int nextRank = 0;
+            int[] remaining = IntStream.range(0, nodeCount).toArray();
+            while (remaining.length > 0) {
+                IntStream.of(remaining).parallel().filter(node -> dirty[node]).forEach(node -> {
+                    IntList shortcuts = new IntList();
+                    findShortcuts(node, null, PRIORITY_SETTLE_LIMIT, shortcuts);
+                    int shortcutCount = shortcuts.size() / 2;
+                    priorities[node] = 2 * shortcutCount - degree(node) + contractedNeighbours[node];
+                    dirty[node] = false;
+                });
+
+                int[] selected = IntStream.of(remaining).parallel()
+                        .filter(node -> isLocalMinimum(node, priorities))
+                        .toArray();
+                for (int node : selected) {
+                    inRound[node] = true;
+                }
+
+                IntList[] shortcuts = new IntList[selected.length];
+                IntStream.range(0, selected.length).parallel().forEach(index -> {
+                    shortcuts[index] = new IntList();
+                    findShortcuts(selected[index], inRound, CONTRACTION_SETTLE_LIMIT, shortcuts[index]);
+                });
+
+                for (int index = 0; index < selected.length; index++) {
+                    int node = selected[index];
+                    IntList pairs = shortcuts[index];
+                    for (int i = 0; i < pairs.size(); i += 2) {
+                        addShortcut(pairs.get(i), pairs.get(i + 1));
+                    }
+                    contracted[node] = true;
+                    inRound[node] = false;
+                    ranks[node] = nextRank++;
+                }
+
+                for (int node : selected) {
+                    markNeighbours(outArcs[node], arcTo, contractedNeighbours, dirty);
+                    markNeighbours(inArcs[node], arcFrom, contractedNeighbours, dirty);
+                }
+                for (int node : selected) {
+                    pruneNeighbours(outArcs[node], arcTo);
+                    pruneNeighbours(inArcs[node], arcFrom);
+                }
+
+                remaining = IntStream.of(remaining).filter(node -> !contracted[node]).toArray();
+            }
+            return ranks;
+        }
+
+        private void addShortcut(int first, int second) {
+            int from = arcFrom[first];
+            int to = arcTo[second];
+            long weight = arcWeight[first] + arcWeight[second];
+
+            IntList arcs = outArcs[from];
+            for (int i = 0; i < arcs.size(); i++) {
+                int arc = arcs.get(i);
+                if (arcTo[arc] == to) {
+                    if (weight < arcWeight[arc]) {
+                        arcWeight[arc] = weight;
+                        arcFirst[arc] = first;
+                        arcSecond[arc] = second;
+                    }
+                    return;
+                }
+            }
+            addArc(from, to, weight, first, second);
+        }
+
+        private void pruneNeighbours(IntList arcs, int[] endpoints) {
+            for (int i = 0; i < arcs.size(); i++) {
+                int neighbour = endpoints[arcs.get(i)];
+                if (!contracted[neighbour]) {
+                    removeContracted(outArcs[neighbour], arcTo);
+                    removeContracted(inArcs[neighbour], arcFrom);
+                }
+            }
+        }
+
+        private void removeContracted(IntList arcs, int[] endpoints) {
+            int kept = 0;
+            for (int i = 0; i < arcs.size(); i++) {
+                int arc = arcs.get(i);
+                if (!contracted[endpoints[arc]]) {
+                    arcs.set(kept++, arc);
+                }
+            }
+            arcs.truncate(kept);
+        }
+
+        private void markNeighbours(IntList arcs, int[] endpoints, int[] contractedNeighbours, boolean[] dirty) {
+            for (int i = 0; i < arcs.size(); i++) {
+                int neighbour = endpoints[arcs.get(i)];
+                if (!contracted[neighbour]) {
+                    contractedNeighbours[neighbour]++;
+                    dirty[neighbour] = true;
+                }
+            }
+        }
+
+        private int degree(int node) {
+            int degree = 0;
+            for (int i = 0; i < outArcs[node].size(); i++) {
+                if (!contracted[arcTo[outArcs[node].get(i)]])
+                    degree++;
+            }
+            for (int i = 0; i < inArcs[node].size(); i++) {
+                if (!contracted[arcFrom[inArcs[node].get(i)]])
+                    degree++;
+            }
+            return degree;
+        }
+
+        private boolean isLocalMinimum(int node, int[] priorities) {
+            return isBelowNeighbours(node, outArcs[node], arcTo, priorities)
+                    && isBelowNeighbours(node, inArcs[node], arcFrom, priorities);
+        }
+
+        private boolean isBelowNeighbours(int node, IntList arcs, int[] endpoints, int[] priorities) {
+            for (int i = 0; i < arcs.size(); i++) {
+                int neighbour = endpoints[arcs.get(i)];
+                if (neighbour == node || contracted[neighbour]) {
+                    continue;
+                }
+                if (priorities[neighbour] < priorities[node]
+                        || priorities[neighbour] == priorities[node] && tieBreak(neighbour) < tieBreak(node)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int tieBreak(int node) {
+            return node * 0x9E3779B9;
+        }
+
+        private void findShortcuts(int node, boolean[] excluded, int settleLimit, IntList shortcuts) {
+            SearchSpace space = spaces.poll();
+            if (space == null) {
+                space = new SearchSpace(nodeCount);
+            }
+
+            IntList in = inArcs[node];
+            IntList out = outArcs[node];
+            for (int i = 0; i < in.size(); i++) {
+                int first = in.get(i);
+                int source = arcFrom[first];
+                if (contracted[source] || source == node) {
+                    continue;
+                }
+
+                long maximumCost = -1;
+                for (int j = 0; j < out.size(); j++) {
+                    int target = arcTo[out.get(j)];
+                    if (!contracted[target] && target != source && target != node) {
+                        maximumCost = Math.max(maximumCost, arcWeight[first] + arcWeight[out.get(j)]);
+                    }
+                }
+                if (maximumCost < 0) {
+                    continue;
+                }
+
+                witnessSearch(space, source, node, excluded, maximumCost, settleLimit);
+                for (int j = 0; j < out.size(); j++) {
+                    int second = out.get(j);
+                    int target = arcTo[second];
+                    if (contracted[target] || target == source || target == node) {
+                        continue;
+                    }
+                    if (space.getDistance(target) > arcWeight[first] + arcWeight[second]) {
+                        shortcuts.add(first);
+                        shortcuts.add(second);
+                    }
+                }
+                space.reset();
+            }
+            spaces.add(space);
+        }
+
+        private void witnessSearch(SearchSpace space, int source, int avoided, boolean[] excluded,
+                                   long maximumCost, int settleLimit) {
+            space.reach(source, 0, -1, -1);
+            int settled = 0;
+            while (!space.isEmpty()) {
+                int current = space.poll();
+                long distance = space.getDistance(current);
+                if (distance > maximumCost || ++settled > settleLimit) {
+                    break;
+                }
+
+                IntList arcs = outArcs[current];
+                for (int i = 0; i < arcs.size(); i++) {
+                    int arc = arcs.get(i);
+                    int next = arcTo[arc];
+                    if (next == avoided || contracted[next] || excluded != null && excluded[next]) {
+                        continue;
+                    }
+                    long nextDistance = distance + arcWeight[arc];
+                    if (nextDistance < space.getDistance(next)) {
+                        space.reach(next, nextDistance, current, arc);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Hierarchy<T> {
+        private long modificationCount;
+        private Map<T, Integer> ids;
+        private List<Edge<T>> originalEdges;
+        private int[] arcFrom;
+        private int[] arcTo;
+        private int[] arcFirst;
+        private int[] arcSecond;
+        private int[] upOffsets;
+        private int[] upTargets;
+        private long[] upWeights;
+        private int[] upArcs;
+        private int[] downOffsets;
+        private int[] downSources;
+        private long[] downWeights;
+        private int[] downArcs;
+        private ConcurrentLinkedQueue<SearchSpace> spaces;
+
+        Route<T> query(T from, T to) {
+            Integer source = ids.get(from);
+            Integer target = ids.get(to);
+            if (source == null || target == null) {
+                throw new NoSuchElementException();
+            }
+            if (source.equals(target)) {
+                return new Route<>(new ArrayList<>(), 0);
+            }
+
+            SearchSpace forward = acquire();
+            SearchSpace backward = acquire();
+            try {
+                forward.reach(source, 0, -1, -1);
+                backward.reach(target, 0, -1, -1);
+
+                long best = Long.MAX_VALUE;
+                int meeting = -1;
+                while (true) {
+                    boolean forwardActive = !forward.isEmpty() && forward.peekKey() < best;
+                    boolean backwardActive = !backward.isEmpty() && backward.peekKey() < best;
+                    if (!forwardActive && !backwardActive) {
+                        break;
+                    }
+
+                    int current;
+                    if (forwardActive && (!backwardActive || forward.peekKey() <= backward.peekKey())) {
+                        current = forward.poll();
+                        relax(forward, current, upOffsets, upTargets, upWeights, upArcs);
+                    } else {
+                        current = backward.poll();
+                        relax(backward, current, downOffsets, downSources, downWeights, downArcs);
+                    }
+
+                    if (forward.isReached(current) && backward.isReached(current)) {
+                        long distance = forward.getDistance(current) + backward.getDistance(current);
+                        if (distance < best) {
+                            best = distance;
+                            meeting = current;
+                        }
+                    }
+                }
+
+                if (meeting < 0) {
+                    return null;
+                }
+                return new Route<>(unpack(forward, backward, source, target, meeting), best);
+            } finally {
+                forward.reset();
+                backward.reset();
+                spaces.add(forward);
+                spaces.add(backward);
+            }
+        }
+
+        private SearchSpace acquire() {
+            SearchSpace space = spaces.poll();
+            return space != null ? space : new SearchSpace(upOffsets.length - 1);
+        }
+
+        private void relax(SearchSpace space, int current, int[] offsets, int[] neighbours, long[] weights, int[] arcs) {
+            long distance = space.getDistance(current);
+            for (int index = offsets[current]; index < offsets[current + 1]; index++) {
+                int next = neighbours[index];
+                long nextDistance = distance + weights[index];
+                if (nextDistance < space.getDistance(next)) {
+                    space.reach(next, nextDistance, current, arcs[index]);
+                }
+            }
+        }
+
+        private List<Edge<T>> unpack(SearchSpace forward, SearchSpace backward, int source, int target, int meeting) {
+            IntList forwardArcs = new IntList();
+            for (int node = meeting; node != source; ) {
+                int arc = forward.getPredecessorArc(node);
+                forwardArcs.add(arc);
+                node = arcFrom[arc];
+            }
+
+            List<Edge<T>> edges = new ArrayList<>();
+            IntList stack = new IntList();
+            for (int i = forwardArcs.size() - 1; i >= 0; i--) {
+                unpackArc(forwardArcs.get(i), stack, edges);
+            }
+            for (int node = meeting; node != target; ) {
+                int arc = backward.getPredecessorArc(node);
+                unpackArc(arc, stack, edges);
+                node = arcTo[arc];
+            }
+            return edges;
+        }
+
+        private void unpackArc(int arc, IntList stack, List<Edge<T>> edges) {
+            stack.add(arc);
+            while (!stack.isEmpty()) {
+                int current = stack.removeLast();
+                if (arcFirst[current] < 0) {
+                    edges.add(originalEdges.get(current));
+                } else {
+                    stack.add(arcSecond[current]);
+                    stack.add(arcFirst[current]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class CsrGraph<T> extends IndexedGraph<T> {
+    private static final int WEIGHT_CHUNK_SHIFT = 12;
+    private static final int WEIGHT_CHUNK_MASK = (1 << WEIGHT_CHUNK_SHIFT) - 1;
+
+    private final Map<T, Integer> ids;
+    private final T[] nodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[][] weights;
+    private final String[] names;
+    private final long modificationCount;
+
+    @SuppressWarnings("unchecked")
+    public CsrGraph(Graph<T> graph) {
+        modificationCount = graph.getModificationCount();
+        Set<T> graphNodes = graph.getNodes();
+        int nodeCount = graphNodes.size();
+
+        ids = new HashMap<>(nodeCount * 2);
+        nodes = (T[]) new Object[nodeCount];
+        for (T node : graphNodes) {
+            nodes[ids.size()] = node;
+            ids.put(node, ids.size());
+        }
+
+        offsets = new int[nodeCount + 1];
+        for (int i = 0; i < nodeCount; i++) {
+            offsets[i + 1] = offsets[i] + graph.getEdgesFrom(nodes[i]).size();
+        }
+
+        int arcCount = offsets[nodeCount];
+        targets = new int[arcCount];
+        weights = new int[(arcCount + WEIGHT_CHUNK_MASK) >>> WEIGHT_CHUNK_SHIFT][];
+        for (int chunk = 0; chunk < weights.length; chunk++) {
+            weights[chunk] = new int[Math.min(WEIGHT_CHUNK_MASK + 1, arcCount - (chunk << WEIGHT_CHUNK_SHIFT))];
+        }
+        names = new String[arcCount];
+        for (int i = 0; i < nodeCount; i++) {
+            int arc = offsets[i];
+            for (Edge<T> edge : graph.getEdgesFrom(nodes[i])) {
+                targets[arc] = ids.get(edge.getDestination());
+                weights[arc >>> WEIGHT_CHUNK_SHIFT][arc & WEIGHT_CHUNK_MASK] = edge.getWeight();
+                names[arc] = edge.getName();
+                arc++;
+            }
+        }
+    }
+
+    private CsrGraph(CsrGraph<T> graph, int[][] weights, long modificationCount) {
+        this.ids = graph.ids;
+        this.nodes = graph.nodes;
+        this.offsets = graph.offsets;
+        this.targets = graph.targets;
+        this.names = graph.names;
+        this.weights = weights;
+        this.modificationCount = modificationCount;
+        setMetrics(graph.getMetrics());
+        shareSearchSpaces(graph);
+    }
+
+    CsrGraph<T> withConnectionWeight(T nodeA, T nodeB, int weight, long modificationCount) {
+        int idA = getId(nodeA);
+        int idB = getId(nodeB);
+
+        int arcA = findArc(idA, idB);
+        int arcB = findArc(idB, idA);
+
+        int[][] newWeights = weights.clone();
+        newWeights[arcA >>> WEIGHT_CHUNK_SHIFT] = weights[arcA >>> WEIGHT_CHUNK_SHIFT].clone();
+        if (arcB >>> WEIGHT_CHUNK_SHIFT != arcA >>> WEIGHT_CHUNK_SHIFT) {
+            newWeights[arcB >>> WEIGHT_CHUNK_SHIFT] = weights[arcB >>> WEIGHT_CHUNK_SHIFT].clone();
+        }
+        newWeights[arcA >>> WEIGHT_CHUNK_SHIFT][arcA & WEIGHT_CHUNK_MASK] = weight;
+        newWeights[arcB >>> WEIGHT_CHUNK_SHIFT][arcB & WEIGHT_CHUNK_MASK] = weight;
+        return new CsrGraph<>(this, newWeights, modificationCount);
+    }
+
+    private int findArc(int from, int to) {
+        for (int arc = offsets[from]; arc < offsets[from + 1]; arc++) {
+            if (targets[arc] == to) {
+                return arc;
+            }
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public T getNode(int id) {
+        return nodes[id];
+    }
+
+    @Override
+    public int getArcStart(int node) {
+        return offsets[node];
+    }
+
+    @Override
+    public int getArcTarget(int arc) {
+        return targets[arc];
+    }
+
+    @Override
+    public int getArcWeight(int arc) {
+        return weights[arc >>> WEIGHT_CHUNK_SHIFT][arc & WEIGHT_CHUNK_MASK];
+    }
+
+    @Override
+    public String getArcName(int arc) {
+        return names[arc];
+    }
+
+    @Override
+    protected int findId(T node) {
+        Integer id = ids.get(node);
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public Set<T> getNodes() {
+        return new HashSet<>(ids.keySet());
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+}
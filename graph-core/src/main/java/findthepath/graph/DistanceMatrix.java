@@ -0,0 +1,74 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class DistanceMatrix<T> {
+    public static final long UNREACHABLE = -1;
+
+    private final List<T> sources;
+    private final List<T> targets;
+    private final long[] distances;
+    private final Map<T, Integer> rows;
+    private final Map<T, Integer> columns;
+
+    public DistanceMatrix(List<T> sources, List<T> targets, long[] distances) {
+        if (distances.length != sources.size() * targets.size()) {
+            throw new IllegalArgumentException();
+        }
+        this.sources = Collections.unmodifiableList(sources);
+        this.targets = Collections.unmodifiableList(targets);
+        this.distances = distances;
+        rows = indexOf(sources);
+        columns = indexOf(targets);
+    }
+
+    public List<T> getSources() {
+        return sources;
+    }
+
+    public List<T> getTargets() {
+        return targets;
+    }
+
+    public long getDistance(int row, int column) {
+        if (row < 0 || row >= sources.size() || column < 0 || column >= targets.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return distances[row * targets.size() + column];
+    }
+
+    public long getDistance(T source, T target) {
+        Integer row = rows.get(source);
+        Integer column = columns.get(target);
+        if (row == null || column == null) {
+            throw new NoSuchElementException();
+        }
+        return getDistance(row, column);
+    }
+
+    public long[] toArray() {
+        return distances.clone();
+    }
+
+    private static <T> Map<T, Integer> indexOf(List<T> nodes) {
+        Map<T, Integer> index = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            index.putIfAbsent(nodes.get(i), i);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("Distances: ");
+
+        for (int row = 0; row < sources.size(); row++) {
+            stringBuilder.append("\n").append(sources.get(row)).append(": ");
+            for (int column = 0; column < targets.size(); column++) {
+                stringBuilder.append(column == 0 ? "" : ";").append(getDistance(row, column));
+            }
+        }
+
+        return stringBuilder.toString();
+    }
+}
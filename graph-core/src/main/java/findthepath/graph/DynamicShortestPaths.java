@@ -0,0 +1,220 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class DynamicShortestPaths<T> implements GraphListener<T> {
+    public static final long UNREACHABLE = -1;
+
+    private final Graph<T> graph;
+    private final Map<T, Tree<T>> trees = new LinkedHashMap<>();
+    private long repairedNodes;
+
+    public DynamicShortestPaths(Graph<T> graph) {
+        this.graph = graph;
+    }
+
+    public synchronized void addSource(T source) {
+        if (!graph.getNodes().contains(source)) {
+            throw new NoSuchElementException();
+        }
+        if (!trees.containsKey(source)) {
+            Tree<T> tree = new Tree<>();
+            tree.distances.put(source, 0L);
+            PriorityQueue<QueueEntry<T>> queue = new PriorityQueue<>();
+            queue.add(new QueueEntry<>(source, 0));
+            propagate(tree, queue);
+            trees.put(source, tree);
+        }
+    }
+
+    public synchronized void removeSource(T source) {
+        trees.remove(source);
+    }
+
+    public synchronized Set<T> getSources() {
+        return new LinkedHashSet<>(trees.keySet());
+    }
+
+    public synchronized long getDistance(T source, T node) {
+        Long distance = getTree(source).distances.get(node);
+        return distance == null ? UNREACHABLE : distance;
+    }
+
+    public synchronized Route<T> getRoute(T source, T to) {
+        Tree<T> tree = getTree(source);
+        Long distance = tree.distances.get(to);
+        if (distance == null) {
+            return null;
+        }
+
+        LinkedList<Edge<T>> edges = new LinkedList<>();
+        for (T current = to; !current.equals(source); current = tree.parents.get(current)) {
+            edges.addFirst(graph.getEdgeBetween(tree.parents.get(current), current));
+        }
+        return new Route<>(new ArrayList<>(edges), distance);
+    }
+
+    public synchronized long getRepairedNodeCount() {
+        return repairedNodes;
+    }
+
+    @Override
+    public synchronized void nodeRemoved(T node) {
+        trees.remove(node);
+        for (Tree<T> tree : trees.values()) {
+            if (tree.distances.containsKey(node)) {
+                List<T> orphans = new ArrayList<>(tree.getChildren(node));
+                tree.forget(node);
+                detach(tree, orphans);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void connected(T node1, T node2, String name, int weight) {
+        for (Tree<T> tree : trees.values()) {
+            lower(tree, node1, node2, weight);
+        }
+    }
+
+    @Override
+    public synchronized void disconnected(T node1, T node2) {
+        for (Tree<T> tree : trees.values()) {
+            if (node1.equals(tree.parents.get(node2)))
+                detach(tree, Collections.singletonList(node2));
+            else if (node2.equals(tree.parents.get(node1)))
+                detach(tree, Collections.singletonList(node1));
+        }
+    }
+
+    @Override
+    public synchronized void weightChanged(T node1, T node2, int weight) {
+        for (Tree<T> tree : trees.values()) {
+            if (node1.equals(tree.parents.get(node2)) && tree.distances.get(node1) + weight > tree.distances.get(node2))
+                detach(tree, Collections.singletonList(node2));
+            else if (node2.equals(tree.parents.get(node1)) && tree.distances.get(node2) + weight > tree.distances.get(node1))
+                detach(tree, Collections.singletonList(node1));
+            else
+                lower(tree, node1, node2, weight);
+        }
+    }
+
+    private Tree<T> getTree(T source) {
+        Tree<T> tree = trees.get(source);
+        if (tree == null) {
+            throw new NoSuchElementException();
+        }
+        return tree;
+    }
+
+    private void lower(Tree<T> tree, T node1, T node2, int weight) {
+        PriorityQueue<QueueEntry<T>> queue = new PriorityQueue<>();
+        offer(tree, queue, node1, node2, weight);
+        offer(tree, queue, node2, node1, weight);
+        propagate(tree, queue);
+    }
+
+    private void offer(Tree<T> tree, PriorityQueue<QueueEntry<T>> queue, T from, T to, int weight) {
+        Long fromDistance = tree.distances.get(from);
+        if (fromDistance == null) {
+            return;
+        }
+
+        Long toDistance = tree.distances.get(to);
+        long distance = fromDistance + weight;
+        if (toDistance == null || distance < toDistance) {
+            tree.distances.put(to, distance);
+            tree.setParent(to, from);
+            queue.add(new QueueEntry<>(to, distance));
+        }
+    }
+
+    private void detach(Tree<T> tree, List<T> roots) {
+        Set<T> affected = new HashSet<>();
+        Deque<T> stack = new ArrayDeque<>(roots);
+        affected.addAll(roots);
+        while (!stack.isEmpty()) {
+            T node = stack.pop();
+            for (T child : tree.getChildren(node)) {
+                if (affected.add(child)) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        for (T node : affected) {
+            tree.forget(node);
+        }
+
+        PriorityQueue<QueueEntry<T>> queue = new PriorityQueue<>();
+        for (T node : affected) {
+            for (Edge<T> edge : graph.getEdgesFrom(node)) {
+                T neighbour = edge.getDestination();
+                if (!affected.contains(neighbour)) {
+                    offer(tree, queue, neighbour, node, edge.getWeight());
+                }
+            }
+        }
+        propagate(tree, queue);
+    }
+
+    private void propagate(Tree<T> tree, PriorityQueue<QueueEntry<T>> queue) {
+        while (!queue.isEmpty()) {
+            QueueEntry<T> entry = queue.poll();
+            Long distance = tree.distances.get(entry.node);
+            if (distance == null || distance != entry.distance) {
+                continue;
+            }
+            repairedNodes++;
+
+            for (Edge<T> edge : graph.getEdgesFrom(entry.node)) {
+                offer(tree, queue, entry.node, edge.getDestination(), edge.getWeight());
+            }
+        }
+    }
+
+    private static class Tree<T> {
+        private final Map<T, Long> distances = new HashMap<>();
+        private final Map<T, T> parents = new HashMap<>();
+        private final Map<T, Set<T>> children = new HashMap<>();
+
+        Set<T> getChildren(T node) {
+            return children.getOrDefault(node, Collections.emptySet());
+        }
+
+        void setParent(T node, T parent) {
+            unlink(node, parents.put(node, parent));
+            children.computeIfAbsent(parent, key -> new HashSet<>()).add(node);
+        }
+
+        void forget(T node) {
+            distances.remove(node);
+            unlink(node, parents.remove(node));
+            children.remove(node);
+        }
+
+        private void unlink(T node, T parent) {
+            if (parent != null) {
+                Set<T> siblings = children.get(parent);
+                if (siblings != null && siblings.remove(node) && siblings.isEmpty()) {
+                    children.remove(parent);
+                }
+            }
+        }
+    }
+
+    private static class QueueEntry<T> implements Comparable<QueueEntry<T>> {
+        private final T node;
+        private final long distance;
+
+        QueueEntry(T node, long distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(QueueEntry<T> other) {
+            return Long.compare(distance, other.distance);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package findthepath.graph;
+
+public class Edge<T> {
+    private final Connection connection;
+    private final T destination;
+
+    public Edge (T destination, String name, int weight){
+        this(new Connection(name, weight), destination);
+    }
+
+    public Edge (Connection connection, T destination){
+        this.connection = connection;
+        this.destination = destination;
+    }
+
+    public T getDestination() {
+        return destination;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public int getWeight() {
+        return connection.getWeight();
+    }
+
+    public String getName() {
+        return connection.getName();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Edge
+                && connection == ((Edge<?>) other).connection
+                && destination.equals(((Edge<?>) other).destination);
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(connection) * 31 + destination.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "to " + this.destination + " by " + this.getName() + " takes " + this.getWeight();
+    }
+}
@@ -0,0 +1,29 @@
+package findthepath.graph;
+
+import java.util.Arrays;
+
+class Frontiers {
+    final int[] visits;
+    final IntList fromStart = new IntList();
+    final IntList fromEnd = new IntList();
+    int mark;
+
+    Frontiers(int nodeCount) {
+        visits = new int[nodeCount];
+    }
+
+    int getNodeCount() {
+        return visits.length;
+    }
+
+    void reset() {
+        fromStart.clear();
+        fromEnd.clear();
+        if (mark > Integer.MAX_VALUE - 4) {
+            Arrays.fill(visits, 0);
+            mark = 0;
+        } else {
+            mark += 2;
+        }
+    }
+}
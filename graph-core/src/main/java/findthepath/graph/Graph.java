@@ -1,26 +1,41 @@
-import java.util.Collection;
-import java.util.List;
-import java.util.Set;
-
-public interface Graph<T> {
-
-    void add(T node);
-    
-    void connect(T node1, T node2, String name, int weight);
-    
-    void setConnectionWeight(T node1, T node2, int weight);
-    
-    Set<T> getNodes();
-    
-    Collection<Edge<T>> getEdgesFrom(T node);
-    
-    Edge<T> getEdgeBetween(T node1, T node2);
-    
-    void disconnect(T node1, T node2);
-    
-    void remove(T node);
-    
-    boolean pathExists(T from, T to);
-    
-    List<Edge<T>> getPath(T from, T to);
-}
+package findthepath.graph;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToDoubleBiFunction;
+
+public interface Graph<T> {
+
+    void add(T node);
+    
+    void connect(T node1, T node2, String name, int weight);
+    
+    void setConnectionWeight(T node1, T node2, int weight);
+    
+    Set<T> getNodes();
+    
+    Collection<Edge<T>> getEdgesFrom(T node);
+    
+    Edge<T> getEdgeBetween(T node1, T node2);
+    
+    void disconnect(T node1, T node2);
+    
+    void remove(T node);
+    
+    boolean pathExists(T from, T to);
+    
+    List<Edge<T>> getPath(T from, T to);
+
+    Route<T> shortestPath(T from, T to);
+
+    Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic);
+
+    List<Route<T>> kShortestPaths(T from, T to, int k);
+
+    List<Route<T>> kShortestPaths(T from, T to, int k, double maximumOverlap);
+
+    ShortestPathTree<T> shortestPathTree(T source);
+
+    long getModificationCount();
+}
@@ -0,0 +1,33 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class GraphFile<T> {
+    private final String imageUrl;
+    private final Graph<T> graph;
+    private final Map<String, T> nodesByName;
+    private final List<T> nodes;
+
+    public GraphFile(String imageUrl, Graph<T> graph, Map<String, T> nodesByName, List<T> nodes) {
+        this.imageUrl = imageUrl;
+        this.graph = graph;
+        this.nodesByName = nodesByName;
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Graph<T> getGraph() {
+        return graph;
+    }
+
+    public T getNode(String name) {
+        return nodesByName.get(name);
+    }
+
+    public List<T> getNodes() {
+        return nodes;
+    }
+}
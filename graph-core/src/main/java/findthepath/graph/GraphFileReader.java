@@ -0,0 +1,198 @@
+package findthepath.graph;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class GraphFileReader<T> {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int END_OF_LINE = -2;
+
+    private final NodeFormat<T> format;
+
+    public GraphFileReader(NodeFormat<T> format) {
+        this.format = format;
+    }
+
+    public GraphFile<T> read(Path file, Graph<T> graph) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader, graph);
+        }
+    }
+
+    public GraphFile<T> read(Reader reader, Graph<T> graph) throws IOException {
+        Input input = new Input(reader);
+
+        StringBuilder imageUrl = new StringBuilder();
+        int delimiter;
+        while ((delimiter = input.readToken(imageUrl)) == ';') {
+            imageUrl.append(';');
+        }
+        if (delimiter == -1) {
+            throw new IOException("Empty graph file");
+        }
+        input.skipLine();
+
+        Map<String, T> nodesByName = new HashMap<>();
+        List<T> nodes = new ArrayList<>();
+        readNodes(input, graph, nodesByName, nodes);
+        readEdges(input, graph, nodesByName);
+
+        return new GraphFile<>(imageUrl.toString(), graph, nodesByName, nodes);
+    }
+
+    private void readNodes(Input input, Graph<T> graph, Map<String, T> nodesByName, List<T> nodes)
+            throws IOException {
+        StringBuilder token = new StringBuilder();
+
+        while (true) {
+            token.setLength(0);
+            if (input.readToken(token) != ';') {
+                input.skipLine();
+                return;
+            }
+            String name = token.toString();
+
+            double x = parseDouble(input, token);
+            double y = parseDouble(input, token);
+
+            T node = format.create(name, x, y);
+            if (nodesByName.putIfAbsent(name, node) == null) {
+                graph.add(node);
+                nodes.add(node);
+            }
+        }
+    }
+
+    private void readEdges(Input input, Graph<T> graph, Map<String, T> nodesByName) throws IOException {
+        StringBuilder token = new StringBuilder();
+
+        while (true) {
+            token.setLength(0);
+            int delimiter = input.readToken(token);
+            if (delimiter == -1) {
+                return;
+            }
+            if (delimiter == END_OF_LINE && token.length() == 0) {
+                input.skipLine();
+                continue;
+            }
+            T nodeA = nodesByName.get(token.toString());
+
+            token.setLength(0);
+            requireField(input.readToken(token), token);
+            T nodeB = nodesByName.get(token.toString());
+
+            token.setLength(0);
+            requireField(input.readToken(token), token);
+            String name = token.toString();
+
+            token.setLength(0);
+            input.readToken(token);
+            int weight;
+            try {
+                weight = Integer.parseInt(token, 0, token.length(), 10);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed weight: " + token, e);
+            }
+            input.skipLine();
+
+            if (nodeA != null && nodeB != null && graph.getEdgeBetween(nodeA, nodeB) == null) {
+                graph.connect(nodeA, nodeB, name, weight);
+            }
+        }
+    }
+
+    private void requireField(int delimiter, StringBuilder token) throws IOException {
+        if (delimiter != ';') {
+            throw new IOException("Malformed connection near: " + token);
+        }
+    }
+
+    private double parseDouble(Input input, StringBuilder token) throws IOException {
+        token.setLength(0);
+        input.readToken(token);
+        try {
+            return Double.parseDouble(token.toString());
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed coordinate: " + token, e);
+        }
+    }
+
+    private static class Input {
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private boolean atLineEnd;
+
+        Input(Reader reader) {
+            this.reader = reader;
+        }
+
+        int readToken(StringBuilder token) throws IOException {
+            if (atLineEnd) {
+                return END_OF_LINE;
+            }
+
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return token.length() > 0 ? END_OF_LINE : -1;
+                    }
+                }
+
+                int start = position;
+                while (position < limit) {
+                    char character = buffer[position];
+                    if (character == ';') {
+                        token.append(buffer, start, position++ - start);
+                        return ';';
+                    }
+                    if (character == '\n') {
+                        token.append(buffer, start, position++ - start);
+                        trimCarriageReturn(token);
+                        atLineEnd = true;
+                        return END_OF_LINE;
+                    }
+                    position++;
+                }
+                token.append(buffer, start, position - start);
+            }
+        }
+
+        void skipLine() throws IOException {
+            if (atLineEnd) {
+                atLineEnd = false;
+                return;
+            }
+
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer, 0, buffer.length);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        return;
+                    }
+                }
+                if (buffer[position++] == '\n') {
+                    return;
+                }
+            }
+        }
+
+        private void trimCarriageReturn(StringBuilder token) {
+            int length = token.length();
+            if (length > 0 && token.charAt(length - 1) == '\r') {
+                token.setLength(length - 1);
+            }
+        }
+    }
+}
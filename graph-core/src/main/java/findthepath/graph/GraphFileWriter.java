@@ -0,0 +1,52 @@
+package findthepath.graph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+public class GraphFileWriter<T> {
+
+    private final NodeFormat<T> format;
+
+    public GraphFileWriter(NodeFormat<T> format) {
+        this.format = format;
+    }
+
+    public long write(Graph<T> graph, String imageUrl, Writer writer) throws IOException {
+        long records = 0;
+        Set<T> nodes = graph.getNodes();
+
+        writer.write(imageUrl);
+        writer.write('\n');
+        for (T node : nodes) {
+            writer.write(format.getName(node));
+            writer.write(';');
+            writer.write(Double.toString(format.getX(node)));
+            writer.write(';');
+            writer.write(Double.toString(format.getY(node)));
+            writer.write(';');
+            records++;
+        }
+        writer.write('\n');
+
+        Set<T> written = new HashSet<>();
+        for (T node : nodes) {
+            String name = format.getName(node);
+            for (Edge<T> edge : graph.getEdgesFrom(node)) {
+                if (!written.contains(edge.getDestination())) {
+                    writer.write(name);
+                    writer.write(';');
+                    writer.write(format.getName(edge.getDestination()));
+                    writer.write(';');
+                    writer.write(edge.getName());
+                    writer.write(';');
+                    writer.write(Integer.toString(edge.getWeight()));
+                    writer.write('\n');
+                    records++;
+                }
+            }
+            written.add(node);
+        }
+        return records;
+    }
+}
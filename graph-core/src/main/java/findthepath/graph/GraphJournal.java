@@ -0,0 +1,246 @@
+package findthepath.graph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public class GraphJournal<T> implements GraphListener<T> {
+    private static final long MINIMUM_COMPACTION_RECORDS = 1024;
+    private static final String HEADER = "#";
+
+    private final Path baseFile;
+    private final Path journalFile;
+    private final NodeFormat<T> format;
+    private final StringBuilder pending = new StringBuilder();
+    private long pendingRecords;
+    private long journalRecords;
+    private long baseRecords;
+    private long baseChecksum;
+    private boolean rewriteRequired = true;
+
+    public GraphJournal(Path baseFile, NodeFormat<T> format) {
+        this.baseFile = baseFile;
+        this.journalFile = baseFile.resolveSibling(baseFile.getFileName() + ".journal");
+        this.format = format;
+    }
+
+    public Path getJournalFile() {
+        return journalFile;
+    }
+
+    public long getJournalRecordCount() {
+        return journalRecords + pendingRecords;
+    }
+
+    public GraphFile<T> load(Graph<T> graph) throws IOException {
+        CRC32 checksum = new CRC32();
+        GraphFile<T> graphFile;
+        try (Reader reader = new InputStreamReader(
+                new CheckedInputStream(Files.newInputStream(baseFile), checksum), StandardCharsets.UTF_8)) {
+            graphFile = new GraphFileReader<>(format).read(new BufferedReader(reader), graph);
+        }
+
+        Map<String, T> nodesByName = new LinkedHashMap<>();
+        long arcs = 0;
+        for (T node : graphFile.getNodes()) {
+            nodesByName.put(format.getName(node), node);
+            arcs += graph.getEdgesFrom(node).size();
+        }
+
+        baseChecksum = checksum.getValue();
+        baseRecords = nodesByName.size() + arcs / 2;
+        journalRecords = replay(graph, nodesByName);
+        pending.setLength(0);
+        pendingRecords = 0;
+        rewriteRequired = false;
+
+        return new GraphFile<>(graphFile.getImageUrl(), graph, nodesByName, new ArrayList<>(nodesByName.values()));
+    }
+
+    public void save(Graph<T> graph, String imageUrl) throws IOException {
+        if (rewriteRequired || getJournalRecordCount() > Math.max(MINIMUM_COMPACTION_RECORDS, baseRecords)) {
+            compact(graph, imageUrl);
+        } else {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        if (rewriteRequired) {
+            throw new IllegalStateException("Journal has no base snapshot");
+        }
+        if (pendingRecords == 0) {
+            return;
+        }
+
+        if (!Files.exists(journalFile)) {
+            writeHeader();
+        }
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        journalRecords += pendingRecords;
+        pending.setLength(0);
+        pendingRecords = 0;
+    }
+
+    public void compact(Graph<T> graph, String imageUrl) throws IOException {
+        Path temporary = baseFile.resolveSibling(baseFile.getFileName() + ".tmp");
+        CRC32 checksum = new CRC32();
+        long records;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), checksum), StandardCharsets.UTF_8));
+            records = new GraphFileWriter<>(format).write(graph, imageUrl, writer);
+            writer.flush();
+            channel.force(false);
+        }
+        Files.move(temporary, baseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        baseChecksum = checksum.getValue();
+        baseRecords = records;
+        writeHeader();
+        journalRecords = 0;
+        pending.setLength(0);
+        pendingRecords = 0;
+        rewriteRequired = false;
+    }
+
+    public void reset() {
+        pending.setLength(0);
+        pendingRecords = 0;
+        rewriteRequired = true;
+    }
+
+    @Override
+    public void nodeAdded(T node) {
+        append("A", format.getName(node), Double.toString(format.getX(node)), Double.toString(format.getY(node)));
+    }
+
+    @Override
+    public void nodeRemoved(T node) {
+        append("R", format.getName(node));
+    }
+
+    @Override
+    public void connected(T node1, T node2, String name, int weight) {
+        append("C", format.getName(node1), format.getName(node2), Integer.toString(weight), name);
+    }
+
+    @Override
+    public void disconnected(T node1, T node2) {
+        append("D", format.getName(node1), format.getName(node2));
+    }
+
+    @Override
+    public void weightChanged(T node1, T node2, int weight) {
+        append("W", format.getName(node1), format.getName(node2), Integer.toString(weight));
+    }
+
+    private void append(String type, String... fields) {
+        pending.append(type);
+        for (String field : fields) {
+            pending.append(';').append(field);
+        }
+        pending.append('\n');
+        pendingRecords++;
+    }
+
+    private void writeHeader() throws IOException {
+        Path temporary = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+        String header = HEADER + ";" + Long.toHexString(baseChecksum) + "\n";
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+        Files.move(temporary, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long replay(Graph<T> graph, Map<String, T> nodesByName) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+
+        byte[] bytes = Files.readAllBytes(journalFile);
+        int complete = bytes.length;
+        while (complete > 0 && bytes[complete - 1] != '\n') {
+            complete--;
+        }
+        String[] lines = new String(bytes, 0, complete, StandardCharsets.UTF_8).split("\n");
+
+        if (lines.length == 0 || !lines[0].equals(HEADER + ";" + Long.toHexString(baseChecksum))) {
+            Files.delete(journalFile);
+            return 0;
+        }
+        if (complete < bytes.length) {
+            try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                channel.truncate(complete);
+                channel.force(false);
+            }
+        }
+
+        for (int i = 1; i < lines.length; i++) {
+            apply(graph, nodesByName, lines[i]);
+        }
+        return lines.length - 1;
+    }
+
+    private void apply(Graph<T> graph, Map<String, T> nodesByName, String line) throws IOException {
+        String[] fields = line.split(";", 5);
+        try {
+            switch (fields[0]) {
+                case "A":
+                    if (!nodesByName.containsKey(fields[1])) {
+                        T node = format.create(fields[1], Double.parseDouble(fields[2]), Double.parseDouble(fields[3]));
+                        graph.add(node);
+                        nodesByName.put(fields[1], node);
+                    }
+                    return;
+                case "R":
+                    T removed = nodesByName.remove(fields[1]);
+                    if (removed != null) {
+                        graph.remove(removed);
+                    }
+                    return;
+                case "C":
+                    T from = nodesByName.get(fields[1]);
+                    T to = nodesByName.get(fields[2]);
+                    if (from != null && to != null && graph.getEdgeBetween(from, to) == null) {
+                        graph.connect(from, to, fields[4], Integer.parseInt(fields[3]));
+                    }
+                    return;
+                case "W":
+                    T nodeA = nodesByName.get(fields[1]);
+                    T nodeB = nodesByName.get(fields[2]);
+                    if (nodeA != null && nodeB != null && graph.getEdgeBetween(nodeA, nodeB) != null) {
+                        graph.setConnectionWeight(nodeA, nodeB, Integer.parseInt(fields[3]));
+                    }
+                    return;
+                case "D":
+                    T node1 = nodesByName.get(fields[1]);
+                    T node2 = nodesByName.get(fields[2]);
+                    if (node1 != null && node2 != null && graph.getEdgeBetween(node1, node2) != null) {
+                        graph.disconnect(node1, node2);
+                    }
+                    return;
+                default:
+                    throw new IOException("Unknown journal record: " + line);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IOException("Malformed journal record: " + line, e);
+        }
+    }
+}
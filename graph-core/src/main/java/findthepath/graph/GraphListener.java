@@ -0,0 +1,19 @@
+package findthepath.graph;
+
+public interface GraphListener<T> {
+
+    default void nodeAdded(T node) {
+    }
+
+    default void nodeRemoved(T node) {
+    }
+
+    default void connected(T node1, T node2, String name, int weight) {
+    }
+
+    default void disconnected(T node1, T node2) {
+    }
+
+    default void weightChanged(T node1, T node2, int weight) {
+    }
+}
@@ -0,0 +1,117 @@
+package findthepath.graph;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class GraphMetrics {
+
+    public enum Operation {
+        SHORTEST_PATH, K_SHORTEST_PATHS, PATH_EXISTS, SHORTEST_PATH_TREE, DISTANCE_MATRIX,
+        ADD, CONNECT, SET_CONNECTION_WEIGHT, DISCONNECT, REMOVE
+    }
+
+    private static final int OPERATION_COUNT = Operation.values().length;
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATION_COUNT];
+    private final LatencyHistogram[] nodesVisited = new LatencyHistogram[OPERATION_COUNT];
+    private final LongAdder[] edgesRelaxed = new LongAdder[OPERATION_COUNT];
+    private final LongAdder[] heapOperations = new LongAdder[OPERATION_COUNT];
+    private final LongAdder slowQueries = new LongAdder();
+    private volatile long slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(10);
+
+    public GraphMetrics() {
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            latencies[i] = new LatencyHistogram();
+            nodesVisited[i] = new LatencyHistogram();
+            edgesRelaxed[i] = new LongAdder();
+            heapOperations[i] = new LongAdder();
+        }
+    }
+
+    public void setSlowQueryThreshold(long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException();
+        }
+        slowQueryThresholdNanos = unit.toNanos(duration);
+    }
+
+    public long getSlowQueryThreshold(TimeUnit unit) {
+        return unit.convert(slowQueryThresholdNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getCount(Operation operation) {
+        return latencies[operation.ordinal()].getCount();
+    }
+
+    public LatencyHistogram getLatencies(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    public LatencyHistogram getNodesVisited(Operation operation) {
+        return nodesVisited[operation.ordinal()];
+    }
+
+    public long getEdgesRelaxed(Operation operation) {
+        return edgesRelaxed[operation.ordinal()].sum();
+    }
+
+    public long getHeapOperations(Operation operation) {
+        return heapOperations[operation.ordinal()].sum();
+    }
+
+    public long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    public void reset() {
+        for (int i = 0; i < OPERATION_COUNT; i++) {
+            latencies[i].reset();
+            nodesVisited[i].reset();
+            edgesRelaxed[i].reset();
+            heapOperations[i].reset();
+        }
+        slowQueries.reset();
+    }
+
+    void recordQuery(Operation operation, long startNanos, Object from, Object to,
+                     long visited, long relaxed, long heapOperationCount, boolean found) {
+        long elapsed = System.nanoTime() - startNanos;
+        int index = operation.ordinal();
+        latencies[index].record(elapsed);
+        nodesVisited[index].record(visited);
+        edgesRelaxed[index].add(relaxed);
+        heapOperations[index].add(heapOperationCount);
+
+        if (elapsed >= slowQueryThresholdNanos) {
+            slowQueries.increment();
+
+            SlowQueryEvent event = new SlowQueryEvent();
+            if (event.isEnabled()) {
+                event.operation = operation.name();
+                event.source = String.valueOf(from);
+                event.target = String.valueOf(to);
+                event.elapsed = elapsed;
+                event.nodesVisited = visited;
+                event.edgesRelaxed = relaxed;
+                event.heapOperations = heapOperationCount;
+                event.found = found;
+                event.commit();
+            }
+        }
+    }
+
+    void recordMutation(Operation operation, long startNanos, Object node1, Object node2, int weight) {
+        long elapsed = System.nanoTime() - startNanos;
+        latencies[operation.ordinal()].record(elapsed);
+
+        GraphMutationEvent event = new GraphMutationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation.name();
+            event.node1 = String.valueOf(node1);
+            event.node2 = node2 == null ? null : String.valueOf(node2);
+            event.weight = weight;
+            event.elapsed = elapsed;
+            event.commit();
+        }
+    }
+}
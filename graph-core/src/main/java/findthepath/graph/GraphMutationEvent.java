@@ -0,0 +1,25 @@
+package findthepath.graph;
+
+import jdk.jfr.*;
+
+@Name("findthepath.GraphMutation")
+@Label("Graph Mutation")
+@Category({"Find the Path", "Graph"})
+@Description("A node or connection change applied to a graph")
+class GraphMutationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Node")
+    String node1;
+
+    @Label("Other Node")
+    String node2;
+
+    @Label("Weight")
+    int weight;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,711 @@
+package findthepath.graph;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.IntStream;
+
+public abstract class IndexedGraph<T> implements Graph<T> {
+    private static final int PROGRESS_INTERVAL = 1 << 12;
+    private static final int MAXIMUM_CANDIDATES_PER_ROUTE = 8;
+
+    private ConcurrentLinkedQueue<SearchSpace> spaces = new ConcurrentLinkedQueue<>();
+    private ConcurrentLinkedQueue<Frontiers> frontiers = new ConcurrentLinkedQueue<>();
+    private volatile GraphMetrics metrics;
+
+    public abstract int getNodeCount();
+
+    public abstract T getNode(int id);
+
+    public abstract int getArcStart(int node);
+
+    public abstract int getArcTarget(int arc);
+
+    public abstract int getArcWeight(int arc);
+
+    public abstract String getArcName(int arc);
+
+    protected abstract int findId(T node);
+
+    public int getId(T node) {
+        int id = findId(node);
+        if (id < 0) {
+            throw new NoSuchElementException();
+        }
+        return id;
+    }
+
+    @Override
+    public void add(T node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void connect(T node1, T node2, String name, int weight) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setConnectionWeight(T node1, T node2, int weight) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<T> getNodes() {
+        Set<T> nodes = new HashSet<>();
+        for (int id = 0; id < getNodeCount(); id++) {
+            nodes.add(getNode(id));
+        }
+        return nodes;
+    }
+
+    @Override
+    public Collection<Edge<T>> getEdgesFrom(T node) {
+        int id = getId(node);
+
+        int end = getArcStart(id + 1);
+        List<Edge<T>> edges = new ArrayList<>(end - getArcStart(id));
+        for (int arc = getArcStart(id); arc < end; arc++) {
+            edges.add(toEdge(arc));
+        }
+        return edges;
+    }
+
+    @Override
+    public Edge<T> getEdgeBetween(T nodeA, T nodeB) {
+        int idA = getId(nodeA);
+        int idB = getId(nodeB);
+
+        int end = getArcStart(idA + 1);
+        for (int arc = getArcStart(idA); arc < end; arc++) {
+            if (getArcTarget(arc) == idB) {
+                return toEdge(arc);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void disconnect(T node1, T node2) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void remove(T node) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean pathExists(T from, T to) {
+        int source = findId(from);
+        int target = findId(to);
+        if (source < 0 || target < 0) {
+            return false;
+        }
+        if (source == target) {
+            return true;
+        }
+
+        GraphMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        Frontiers scratch = acquireFrontiers();
+        try {
+            int fromStart = scratch.mark + 1;
+            int fromEnd = scratch.mark + 2;
+            scratch.visits[source] = fromStart;
+            scratch.visits[target] = fromEnd;
+            scratch.fromStart.add(source);
+            scratch.fromEnd.add(target);
+
+            int[] startBounds = {0, 0};
+            int[] endBounds = {0, 0};
+            boolean meets = false;
+            while (!meets && startBounds[0] < scratch.fromStart.size() && endBounds[0] < scratch.fromEnd.size()) {
+                if (scratch.fromStart.size() - startBounds[0] <= scratch.fromEnd.size() - endBounds[0])
+                    meets = expandFrontier(scratch, scratch.fromStart, startBounds, fromStart, fromEnd);
+                else
+                    meets = expandFrontier(scratch, scratch.fromEnd, endBounds, fromEnd, fromStart);
+            }
+
+            if (metrics != null) {
+                metrics.recordQuery(GraphMetrics.Operation.PATH_EXISTS, start, from, to,
+                        scratch.fromStart.size() + scratch.fromEnd.size(), startBounds[1] + endBounds[1], 0, meets);
+            }
+            return meets;
+        } finally {
+            releaseFrontiers(scratch);
+        }
+    }
+
+    private boolean expandFrontier(Frontiers scratch, IntList queue, int[] bounds, int side, int otherSide) {
+        int levelEnd = queue.size();
+        while (bounds[0] < levelEnd) {
+            int current = queue.get(bounds[0]++);
+            int end = getArcStart(current + 1);
+            for (int arc = getArcStart(current); arc < end; arc++) {
+                bounds[1]++;
+                int next = getArcTarget(arc);
+                if (scratch.visits[next] == otherSide) {
+                    return true;
+                }
+                if (scratch.visits[next] != side) {
+                    scratch.visits[next] = side;
+                    queue.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Edge<T>> getPath(T from, T to) {
+        Route<T> route = shortestPath(from, to);
+
+        if (route == null || route.getEdges().isEmpty())
+            return null;
+        else
+            return route.getEdges();
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to) {
+        return shortestPath(from, to, null);
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic) {
+        return shortestPath(from, to, heuristic, null);
+    }
+
+    public Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic, LongConsumer progress) {
+        int source = getId(from);
+        int target = getId(to);
+
+        GraphMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        SearchSpace space = acquireSpace();
+        try {
+            space.reach(source, 0, estimate(heuristic, source, to), -1, -1);
+
+            Route<T> route = null;
+            long settled = 0;
+            long relaxed = 0;
+            while (!space.isEmpty()) {
+                int current = space.poll();
+                if (current == target) {
+                    route = buildRoute(space, target);
+                    break;
+                }
+                if (++settled % PROGRESS_INTERVAL == 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException();
+                    }
+                    if (progress != null) {
+                        progress.accept(settled);
+                    }
+                }
+
+                long currentDistance = space.getDistance(current);
+                int end = getArcStart(current + 1);
+                relaxed += end - getArcStart(current);
+                for (int arc = getArcStart(current); arc < end; arc++) {
+                    int next = getArcTarget(arc);
+                    long distance = currentDistance + getArcWeight(arc);
+                    if (distance < space.getDistance(next)) {
+                        space.reach(next, distance, distance + estimate(heuristic, next, to), current, arc);
+                    }
+                }
+            }
+
+            if (metrics != null) {
+                metrics.recordQuery(GraphMetrics.Operation.SHORTEST_PATH, start, from, to,
+                        space.getSettledCount(), relaxed, space.getHeapOperationCount(), route != null);
+            }
+            return route;
+        } finally {
+            releaseSpace(space);
+        }
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k) {
+        return kShortestPaths(from, to, k, 1);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k, double maximumOverlap) {
+        if (k < 1 || maximumOverlap < 0 || maximumOverlap > 1) {
+            throw new IllegalArgumentException();
+        }
+        int source = getId(from);
+        int target = getId(to);
+
+        GraphMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        long[] work = new long[3];
+        long[] remaining = new long[getNodeCount()];
+        int[] toward = new int[getNodeCount()];
+        SearchSpace space = acquireSpace();
+        try {
+            work[1] += searchTargets(space, target, null, 0);
+            work[0] += space.getSettledCount();
+            work[2] += space.getHeapOperationCount();
+            for (int node = 0; node < remaining.length; node++) {
+                remaining[node] = space.getDistance(node);
+                toward[node] = space.getPredecessor(node);
+            }
+        } finally {
+            releaseSpace(space);
+        }
+
+        List<Route<T>> routes = new ArrayList<>();
+        int[] blockedNodes = new int[getNodeCount()];
+        int[] blockedArcs = new int[getArcStart(getNodeCount())];
+        int stamp = 1;
+        List<Candidate> accepted = new ArrayList<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingLong(c -> c.cost));
+        Set<Candidate> seen = new HashSet<>();
+        Set<Long> bestConnections = new HashSet<>();
+
+        if (remaining[source] != Long.MAX_VALUE) {
+            Candidate best = searchSpur(source, target, remaining, toward, blockedNodes, blockedArcs, stamp, work);
+            candidates.add(best);
+            seen.add(best);
+            for (int i = 0; i < best.arcs.length; i++) {
+                bestConnections.add(connectionKey(best.nodes[i], best.nodes[i + 1]));
+            }
+        }
+
+        int candidateLimit = maximumOverlap < 1 ? k * MAXIMUM_CANDIDATES_PER_ROUTE : k;
+        while (!candidates.isEmpty() && accepted.size() < candidateLimit) {
+            Candidate path = candidates.poll();
+            accepted.add(path);
+            if (routes.isEmpty() || overlap(path, bestConnections) <= maximumOverlap) {
+                routes.add(toRoute(path));
+                if (routes.size() == k) {
+                    break;
+                }
+            }
+
+            for (int i = 0; i < path.arcs.length; i++) {
+                stamp++;
+                for (int j = 0; j < i; j++) {
+                    blockedNodes[path.nodes[j]] = stamp;
+                }
+                for (Candidate other : accepted) {
+                    if (other.arcs.length > i && Arrays.equals(other.nodes, 0, i + 1, path.nodes, 0, i + 1)) {
+                        blockedArcs[other.arcs[i]] = stamp;
+                    }
+                }
+
+                Candidate spur = searchSpur(path.nodes[i], target, remaining, toward, blockedNodes, blockedArcs, stamp, work);
+                if (spur != null) {
+                    Candidate candidate = path.join(i, spur, this);
+                    if (seen.add(candidate)) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordQuery(GraphMetrics.Operation.K_SHORTEST_PATHS, start, from, to,
+                    work[0], work[1], work[2], !routes.isEmpty());
+        }
+        return routes;
+    }
+
+    private Candidate searchSpur(int spur, int target, long[] remaining, int[] toward, int[] blockedNodes,
+                                 int[] blockedArcs, int stamp, long[] work) {
+        if (spur != target) {
+            Candidate shortcut = followTree(spur, remaining, toward, blockedNodes, blockedArcs, stamp);
+            if (shortcut != null) {
+                return shortcut;
+            }
+        }
+
+        SearchSpace space = acquireSpace();
+        try {
+            space.reach(spur, 0, remaining[spur], -1, -1);
+
+            Candidate path = null;
+            while (!space.isEmpty()) {
+                int current = space.poll();
+                if (current == target) {
+                    path = tracePath(space, target);
+                    break;
+                }
+
+                long currentDistance = space.getDistance(current);
+                int end = getArcStart(current + 1);
+                for (int arc = getArcStart(current); arc < end; arc++) {
+                    work[1]++;
+                    int next = getArcTarget(arc);
+                    if (blockedArcs[arc] == stamp || blockedNodes[next] == stamp || remaining[next] == Long.MAX_VALUE) {
+                        continue;
+                    }
+                    long distance = currentDistance + getArcWeight(arc);
+                    if (distance < space.getDistance(next)) {
+                        space.reach(next, distance, distance + remaining[next], current, arc);
+                    }
+                }
+            }
+
+            work[0] += space.getSettledCount();
+            work[2] += space.getHeapOperationCount();
+            return path;
+        } finally {
+            releaseSpace(space);
+        }
+    }
+
+    private Candidate followTree(int spur, long[] remaining, int[] toward, int[] blockedNodes, int[] blockedArcs,
+                                 int stamp) {
+        int firstArc = -1;
+        long bound = Long.MAX_VALUE;
+        int end = getArcStart(spur + 1);
+        for (int arc = getArcStart(spur); arc < end; arc++) {
+            int next = getArcTarget(arc);
+            if (blockedArcs[arc] == stamp || blockedNodes[next] == stamp || remaining[next] == Long.MAX_VALUE) {
+                continue;
+            }
+            if (getArcWeight(arc) + remaining[next] < bound) {
+                bound = getArcWeight(arc) + remaining[next];
+                firstArc = arc;
+            }
+        }
+        if (firstArc < 0) {
+            return null;
+        }
+
+        IntList nodes = new IntList();
+        IntList arcs = new IntList();
+        nodes.add(spur);
+        arcs.add(firstArc);
+        for (int current = getArcTarget(firstArc); ; current = toward[current]) {
+            if (current == spur || blockedNodes[current] == stamp) {
+                return null;
+            }
+            nodes.add(current);
+            if (toward[current] < 0) {
+                break;
+            }
+            arcs.add(findTreeArc(current, toward[current], remaining[current] - remaining[toward[current]]));
+        }
+        return new Candidate(nodes.toArray(), arcs.toArray(), bound);
+    }
+
+    private int findTreeArc(int node, int next, long weight) {
+        int end = getArcStart(node + 1);
+        for (int arc = getArcStart(node); arc < end; arc++) {
+            if (getArcTarget(arc) == next && getArcWeight(arc) == weight) {
+                return arc;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private Candidate tracePath(SearchSpace space, int target) {
+        int length = 0;
+        for (int current = target; space.getPredecessor(current) >= 0; current = space.getPredecessor(current)) {
+            length++;
+        }
+
+        int[] nodes = new int[length + 1];
+        int[] arcs = new int[length];
+        nodes[length] = target;
+        for (int current = target; space.getPredecessor(current) >= 0; current = space.getPredecessor(current)) {
+            arcs[--length] = space.getPredecessorArc(current);
+            nodes[length] = space.getPredecessor(current);
+        }
+        return new Candidate(nodes, arcs, space.getDistance(target));
+    }
+
+    private double overlap(Candidate path, Set<Long> connections) {
+        long shared = 0;
+        long total = 0;
+        for (int i = 0; i < path.arcs.length; i++) {
+            long weight = Math.max(1, getArcWeight(path.arcs[i]));
+            total += weight;
+            if (connections.contains(connectionKey(path.nodes[i], path.nodes[i + 1]))) {
+                shared += weight;
+            }
+        }
+        return total == 0 ? 0 : (double) shared / total;
+    }
+
+    private static long connectionKey(int nodeA, int nodeB) {
+        return (long) Math.min(nodeA, nodeB) << 32 | Math.max(nodeA, nodeB);
+    }
+
+    private Route<T> toRoute(Candidate path) {
+        List<Edge<T>> edges = new ArrayList<>(path.arcs.length);
+        for (int arc : path.arcs) {
+            edges.add(toEdge(arc));
+        }
+        return new Route<>(edges, path.cost);
+    }
+
+    public Map<T, Route<T>> shortestPaths(T from, Collection<T> targets) {
+        int source = getId(from);
+        boolean[] isTarget = new boolean[getNodeCount()];
+        int targetCount = 0;
+        for (T target : targets) {
+            int id = getId(target);
+            if (!isTarget[id]) {
+                isTarget[id] = true;
+                targetCount++;
+            }
+        }
+
+        GraphMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        SearchSpace space = acquireSpace();
+        try {
+            long relaxed = searchTargets(space, source, isTarget, targetCount);
+
+            Map<T, Route<T>> routes = new HashMap<>();
+            for (T target : targets) {
+                int id = getId(target);
+                routes.put(target, space.isReached(id) ? buildRoute(space, id) : null);
+            }
+            if (metrics != null) {
+                metrics.recordQuery(GraphMetrics.Operation.SHORTEST_PATH, start, from, targets,
+                        space.getSettledCount(), relaxed, space.getHeapOperationCount(), true);
+            }
+            return routes;
+        } finally {
+            releaseSpace(space);
+        }
+    }
+
+    @Override
+    public ShortestPathTree<T> shortestPathTree(T from) {
+        int source = getId(from);
+
+        int nodeCount = getNodeCount();
+        long[] distances = new long[nodeCount];
+        int[] predecessors = new int[nodeCount];
+        int[] predecessorArcs = new int[nodeCount];
+        GraphMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        SearchSpace space = acquireSpace();
+        try {
+            long relaxed = searchTargets(space, source, null, 0);
+            if (metrics != null) {
+                metrics.recordQuery(GraphMetrics.Operation.SHORTEST_PATH_TREE, start, from, null,
+                        space.getSettledCount(), relaxed, space.getHeapOperationCount(), true);
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                distances[node] = space.isReached(node) ? space.getDistance(node) : ShortestPathTree.UNREACHABLE;
+                predecessors[node] = space.isReached(node) ? space.getPredecessor(node) : ShortestPathTree.NO_PREDECESSOR;
+                predecessorArcs[node] = space.isReached(node) ? space.getPredecessorArc(node) : -1;
+            }
+        } finally {
+            releaseSpace(space);
+        }
+        return new ShortestPathTree<>(this, source, distances, predecessors, predecessorArcs);
+    }
+
+    public DistanceMatrix<T> distanceMatrix(Collection<T> sources, Collection<T> targets) {
+        return distanceMatrix(sources, targets, ForkJoinPool.commonPool());
+    }
+
+    public DistanceMatrix<T> distanceMatrix(Collection<T> sources, Collection<T> targets, ForkJoinPool pool) {
+        GraphMetrics metrics = this.metrics;
+        long start = metrics == null ? 0 : System.nanoTime();
+        List<T> sourceList = new ArrayList<>(sources);
+        List<T> targetList = new ArrayList<>(targets);
+        int[] sourceIds = new int[sourceList.size()];
+        int[] targetIds = new int[targetList.size()];
+        for (int i = 0; i < sourceIds.length; i++) {
+            sourceIds[i] = getId(sourceList.get(i));
+        }
+        for (int i = 0; i < targetIds.length; i++) {
+            targetIds[i] = getId(targetList.get(i));
+        }
+
+        boolean[] isTarget = new boolean[getNodeCount()];
+        int distinctTargets = 0;
+        for (int targetId : targetIds) {
+            if (!isTarget[targetId]) {
+                isTarget[targetId] = true;
+                distinctTargets++;
+            }
+        }
+
+        long[] distances = new long[sourceIds.length * targetIds.length];
+        long[] work = new long[sourceIds.length * 3];
+        int targetCount = distinctTargets;
+        pool.submit(() -> IntStream.range(0, sourceIds.length).parallel().forEach(row -> {
+            SearchSpace space = acquireSpace();
+            try {
+                work[row * 3 + 1] = searchTargets(space, sourceIds[row], isTarget, targetCount);
+                work[row * 3] = space.getSettledCount();
+                work[row * 3 + 2] = space.getHeapOperationCount();
+                for (int column = 0; column < targetIds.length; column++) {
+                    long distance = space.getDistance(targetIds[column]);
+                    distances[row * targetIds.length + column] =
+                            distance == Long.MAX_VALUE ? DistanceMatrix.UNREACHABLE : distance;
+                }
+            } finally {
+                releaseSpace(space);
+            }
+        })).join();
+
+        if (metrics != null) {
+            long visited = 0;
+            long relaxed = 0;
+            long heapOperations = 0;
+            for (int row = 0; row < sourceIds.length; row++) {
+                visited += work[row * 3];
+                relaxed += work[row * 3 + 1];
+                heapOperations += work[row * 3 + 2];
+            }
+            metrics.recordQuery(GraphMetrics.Operation.DISTANCE_MATRIX, start, sourceIds.length, targetIds.length,
+                    visited, relaxed, heapOperations, true);
+        }
+        return new DistanceMatrix<>(sourceList, targetList, distances);
+    }
+
+    private long searchTargets(SearchSpace space, int source, boolean[] isTarget, int targetCount) {
+        space.reach(source, 0, -1, -1);
+
+        long relaxed = 0;
+        int settledTargets = 0;
+        while (!space.isEmpty() && (isTarget == null || settledTargets < targetCount)) {
+            int current = space.poll();
+            if (isTarget != null && isTarget[current]) {
+                settledTargets++;
+            }
+
+            long currentDistance = space.getDistance(current);
+            int end = getArcStart(current + 1);
+            relaxed += end - getArcStart(current);
+            for (int arc = getArcStart(current); arc < end; arc++) {
+                int next = getArcTarget(arc);
+                long distance = currentDistance + getArcWeight(arc);
+                if (distance < space.getDistance(next)) {
+                    space.reach(next, distance, current, arc);
+                }
+            }
+        }
+        return relaxed;
+    }
+
+    public void setMetrics(GraphMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public GraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    void shareSearchSpaces(IndexedGraph<?> graph) {
+        spaces = graph.spaces;
+        frontiers = graph.frontiers;
+    }
+
+    private SearchSpace acquireSpace() {
+        SearchSpace space;
+        while ((space = spaces.poll()) != null) {
+            if (space.getNodeCount() >= getNodeCount()) {
+                return space;
+            }
+        }
+        return new SearchSpace(getNodeCount());
+    }
+
+    private void releaseSpace(SearchSpace space) {
+        space.reset();
+        spaces.add(space);
+    }
+
+    private Frontiers acquireFrontiers() {
+        Frontiers scratch;
+        while ((scratch = frontiers.poll()) != null) {
+            if (scratch.getNodeCount() >= getNodeCount()) {
+                return scratch;
+            }
+        }
+        return new Frontiers(getNodeCount());
+    }
+
+    private void releaseFrontiers(Frontiers scratch) {
+        scratch.reset();
+        frontiers.add(scratch);
+    }
+
+    private long estimate(ToDoubleBiFunction<T, T> heuristic, int id, T target) {
+        if (heuristic == null)
+            return 0;
+        else
+            return (long) Math.floor(heuristic.applyAsDouble(getNode(id), target));
+    }
+
+    private Route<T> buildRoute(SearchSpace space, int target) {
+        int length = 0;
+        for (int current = target; space.getPredecessor(current) >= 0; current = space.getPredecessor(current)) {
+            length++;
+        }
+
+        List<Edge<T>> edges = new ArrayList<>(Collections.nCopies(length, null));
+        for (int current = target; space.getPredecessor(current) >= 0; current = space.getPredecessor(current)) {
+            edges.set(--length, toEdge(space.getPredecessorArc(current)));
+        }
+        return new Route<>(edges, space.getDistance(target));
+    }
+
+    private static class Candidate {
+        private final int[] nodes;
+        private final int[] arcs;
+        private final long cost;
+
+        Candidate(int[] nodes, int[] arcs, long cost) {
+            this.nodes = nodes;
+            this.arcs = arcs;
+            this.cost = cost;
+        }
+
+        Candidate join(int spurIndex, Candidate spur, IndexedGraph<?> graph) {
+            int[] joinedNodes = Arrays.copyOf(nodes, spurIndex + spur.nodes.length);
+            System.arraycopy(spur.nodes, 0, joinedNodes, spurIndex, spur.nodes.length);
+            int[] joinedArcs = Arrays.copyOf(arcs, spurIndex + spur.arcs.length);
+            System.arraycopy(spur.arcs, 0, joinedArcs, spurIndex, spur.arcs.length);
+
+            long rootCost = 0;
+            for (int i = 0; i < spurIndex; i++) {
+                rootCost += graph.getArcWeight(arcs[i]);
+            }
+            return new Candidate(joinedNodes, joinedArcs, rootCost + spur.cost);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Candidate && Arrays.equals(arcs, ((Candidate) other).arcs);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arcs);
+        }
+    }
+
+    Edge<T> toEdge(int arc) {
+        return new Edge<>(getNode(getArcTarget(arc)), getArcName(arc), getArcWeight(arc));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("Nodes: ");
+
+        for (int id = 0; id < getNodeCount(); id++) {
+            stringBuilder.append("\n").append(getNode(id)).append(": ").append(getEdgesFrom(getNode(id)));
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package findthepath.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IndexedMinHeap {
+    private int[] heap;
+    private int[] position;
+    private long[] keys;
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return id < position.length && position[id] >= 0;
+    }
+
+    public long getKey(int id) {
+        if (!contains(id)) {
+            throw new NoSuchElementException();
+        }
+        return keys[id];
+    }
+
+    public long peekKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[heap[0]];
+    }
+
+    public boolean insertOrDecrease(int id, long key) {
+        ensureCapacity(id + 1);
+
+        int index = position[id];
+        if (index < 0) {
+            heap[size] = id;
+            position[id] = size;
+            keys[id] = key;
+            siftUp(size++);
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            siftUp(index);
+            return true;
+        }
+        return false;
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity <= position.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, position.length * 2);
+        heap = Arrays.copyOf(heap, newCapacity);
+        keys = Arrays.copyOf(keys, newCapacity);
+        int oldLength = position.length;
+        position = Arrays.copyOf(position, newCapacity);
+        Arrays.fill(position, oldLength, newCapacity, -1);
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[index] = parent;
+            position[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        int half = size >>> 1;
+        while (index < half) {
+            int childIndex = 2 * index + 1;
+            int child = heap[childIndex];
+            int rightIndex = childIndex + 1;
+            if (rightIndex < size && keys[heap[rightIndex]] < keys[child]) {
+                childIndex = rightIndex;
+                child = heap[childIndex];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[index] = child;
+            position[child] = index;
+            index = childIndex;
+        }
+        heap[index] = id;
+        position[id] = index;
+    }
+}
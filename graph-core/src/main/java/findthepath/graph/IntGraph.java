@@ -0,0 +1,248 @@
+package findthepath.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IntGraph {
+    private static final int INITIAL_DEGREE = 4;
+    private static final int[] NO_EDGES = new int[0];
+
+    private final StringPool names;
+    private int[][] adjacency;
+    private int[] degrees;
+    private int idBound;
+    private int nodeCount;
+    private final IntList freeNodes = new IntList();
+
+    private int[] edgeEnds;
+    private int[] edgeWeights;
+    private int[] edgeNames;
+    private int edgeBound;
+    private int edgeCount;
+    private final IntList freeEdges = new IntList();
+    private long modificationCount;
+
+    public IntGraph() {
+        this(new StringPool(), 16, 16);
+    }
+
+    public IntGraph(StringPool names, int expectedNodes, int expectedEdges) {
+        if (expectedNodes < 0 || expectedEdges < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.names = names;
+        adjacency = new int[Math.max(expectedNodes, 1)][];
+        degrees = new int[Math.max(expectedNodes, 1)];
+        edgeEnds = new int[Math.max(expectedEdges, 1)];
+        edgeWeights = new int[Math.max(expectedEdges, 1)];
+        edgeNames = new int[Math.max(expectedEdges, 1)];
+    }
+
+    public StringPool getNames() {
+        return names;
+    }
+
+    public int addNode() {
+        int node;
+        if (!freeNodes.isEmpty()) {
+            node = freeNodes.removeLast();
+        } else {
+            if (idBound == degrees.length) {
+                int capacity = idBound + (idBound >> 1) + 1;
+                adjacency = Arrays.copyOf(adjacency, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+            }
+            node = idBound++;
+        }
+        adjacency[node] = NO_EDGES;
+        degrees[node] = 0;
+        nodeCount++;
+        modificationCount++;
+        return node;
+    }
+
+    public void removeNode(int node) {
+        checkNode(node);
+
+        while (degrees[node] > 0) {
+            int edge = adjacency[node][degrees[node] - 1];
+            int other = edgeEnds[edge] ^ node;
+            if (other != node) {
+                removeFromAdjacency(other, edge);
+            }
+            degrees[node]--;
+            freeEdge(edge);
+        }
+        adjacency[node] = null;
+        degrees[node] = -1;
+        freeNodes.add(node);
+        nodeCount--;
+        modificationCount++;
+    }
+
+    public boolean contains(int node) {
+        return node >= 0 && node < idBound && degrees[node] >= 0;
+    }
+
+    public int connect(int nodeA, int nodeB, String name, int weight) {
+        if (findEdge(nodeA, nodeB) >= 0) {
+            throw new IllegalStateException();
+        }
+        return connectUnchecked(nodeA, nodeB, name, weight);
+    }
+
+    public int connectUnchecked(int nodeA, int nodeB, String name, int weight) {
+        checkNode(nodeA);
+        checkNode(nodeB);
+        if (weight < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        int edge;
+        if (!freeEdges.isEmpty()) {
+            edge = freeEdges.removeLast();
+        } else {
+            if (edgeBound == edgeEnds.length) {
+                int capacity = edgeBound + (edgeBound >> 1) + 1;
+                edgeEnds = Arrays.copyOf(edgeEnds, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+                edgeNames = Arrays.copyOf(edgeNames, capacity);
+            }
+            edge = edgeBound++;
+        }
+        edgeEnds[edge] = nodeA ^ nodeB;
+        edgeWeights[edge] = weight;
+        edgeNames[edge] = names.intern(name);
+
+        appendToAdjacency(nodeA, edge);
+        if (nodeA != nodeB) {
+            appendToAdjacency(nodeB, edge);
+        }
+        edgeCount++;
+        modificationCount++;
+        return edge;
+    }
+
+    public void disconnect(int nodeA, int nodeB) {
+        checkNode(nodeA);
+        checkNode(nodeB);
+
+        int edge = findEdge(nodeA, nodeB);
+        if (edge < 0) {
+            throw new IllegalStateException();
+        }
+        removeFromAdjacency(nodeA, edge);
+        if (nodeA != nodeB) {
+            removeFromAdjacency(nodeB, edge);
+        }
+        freeEdge(edge);
+        modificationCount++;
+    }
+
+    public int findEdge(int nodeA, int nodeB) {
+        checkNode(nodeA);
+        checkNode(nodeB);
+
+        int from = degrees[nodeA] <= degrees[nodeB] ? nodeA : nodeB;
+        int to = from == nodeA ? nodeB : nodeA;
+        int[] edges = adjacency[from];
+        for (int i = 0; i < degrees[from]; i++) {
+            if ((edgeEnds[edges[i]] ^ from) == to) {
+                return edges[i];
+            }
+        }
+        return -1;
+    }
+
+    public int getDegree(int node) {
+        checkNode(node);
+        return degrees[node];
+    }
+
+    public int getEdge(int node, int index) {
+        checkNode(node);
+        if (index < 0 || index >= degrees[node]) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return adjacency[node][index];
+    }
+
+    public int getOtherEnd(int edge, int node) {
+        return edgeEnds[edge] ^ node;
+    }
+
+    public int getWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    public void setWeight(int edge, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException();
+        }
+        edgeWeights[edge] = weight;
+        modificationCount++;
+    }
+
+    public String getName(int edge) {
+        return names.get(edgeNames[edge]);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getIdBound() {
+        return idBound;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public void trimToSize() {
+        adjacency = Arrays.copyOf(adjacency, Math.max(idBound, 1));
+        degrees = Arrays.copyOf(degrees, Math.max(idBound, 1));
+        for (int node = 0; node < idBound; node++) {
+            if (degrees[node] > 0 && adjacency[node].length > degrees[node]) {
+                adjacency[node] = Arrays.copyOf(adjacency[node], degrees[node]);
+            }
+        }
+        edgeEnds = Arrays.copyOf(edgeEnds, Math.max(edgeBound, 1));
+        edgeWeights = Arrays.copyOf(edgeWeights, Math.max(edgeBound, 1));
+        edgeNames = Arrays.copyOf(edgeNames, Math.max(edgeBound, 1));
+    }
+
+    private void appendToAdjacency(int node, int edge) {
+        int[] edges = adjacency[node];
+        if (degrees[node] == edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(INITIAL_DEGREE, edges.length * 2));
+            adjacency[node] = edges;
+        }
+        edges[degrees[node]++] = edge;
+    }
+
+    private void removeFromAdjacency(int node, int edge) {
+        int[] edges = adjacency[node];
+        for (int i = 0; i < degrees[node]; i++) {
+            if (edges[i] == edge) {
+                edges[i] = edges[--degrees[node]];
+                return;
+            }
+        }
+    }
+
+    private void freeEdge(int edge) {
+        freeEdges.add(edge);
+        edgeCount--;
+    }
+
+    private void checkNode(int node) {
+        if (!contains(node)) {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package findthepath.graph;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong maximum = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+
+        long current = maximum.get();
+        while (value > current && !maximum.compareAndSet(current, value)) {
+            current = maximum.get();
+        }
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            long bucket = other.counts.get(index);
+            if (bucket != 0) {
+                counts.addAndGet(index, bucket);
+            }
+        }
+        count.addAndGet(other.count.get());
+        total.addAndGet(other.total.get());
+
+        long value = other.maximum.get();
+        long current = maximum.get();
+        while (value > current && !maximum.compareAndSet(current, value)) {
+            current = maximum.get();
+        }
+    }
+
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts.set(index, 0);
+        }
+        count.set(0);
+        total.set(0);
+        maximum.set(0);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    public double getMean() {
+        long samples = count.get();
+        return samples == 0 ? 0 : (double) total.get() / samples;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException();
+        }
+
+        long samples = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            samples += counts.get(index);
+        }
+        if (samples == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * samples));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += counts.get(index);
+            if (seen >= rank) {
+                return Math.min(highestValueAt(index), maximum.get());
+            }
+        }
+        return maximum.get();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT
+                + (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,367 @@
+package findthepath.graph;
+
+
+import java.util.*;
+import java.util.function.ToDoubleBiFunction;
+
+public class ListGraph <T> implements Graph<T>{
+
+    private Map<T, Map<T, Connection>> graphMap = new HashMap<>();
+    private ComponentIndex<T> components = new ComponentIndex<>(node -> graphMap.get(node).keySet());
+    private List<GraphListener<T>> listeners = new ArrayList<>();
+    private long modificationCount;
+    private GraphMetrics metrics;
+    private CsrGraph<T> snapshot;
+
+    @Override
+    public void add(T node) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (graphMap.putIfAbsent(node, new HashMap<>()) == null){
+            components.add(node);
+            modificationCount++;
+            for (GraphListener<T> listener : listeners){
+                listener.nodeAdded(node);
+            }
+            if (metrics != null) {
+                metrics.recordMutation(GraphMetrics.Operation.ADD, start, node, null, 0);
+            }
+        }
+    }
+
+    @Override
+    public void connect(T fromNode, T toNode, String name, int weight) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (!graphMap.containsKey(fromNode) || !graphMap.containsKey(toNode)){
+            throw new NoSuchElementException();
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        if (graphMap.get(fromNode).containsKey(toNode)){
+            throw new IllegalStateException();
+        }
+
+        Connection connection = new Connection(name, weight);
+        graphMap.get(fromNode).put(toNode, connection);
+        graphMap.get(toNode).put(fromNode, connection);
+        components.union(fromNode, toNode);
+        modificationCount++;
+        for (GraphListener<T> listener : listeners){
+            listener.connected(fromNode, toNode, name, weight);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.CONNECT, start, fromNode, toNode, weight);
+        }
+    }
+
+    @Override
+    public void setConnectionWeight(T nodeA, T nodeB, int weight) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (weight < 0){
+            throw new IllegalArgumentException();
+        }
+
+        if (!graphMap.containsKey(nodeA) || !graphMap.containsKey(nodeB)){
+            throw new NoSuchElementException();
+        }
+
+        Connection connection = graphMap.get(nodeA).get(nodeB);
+        if (connection == null){
+            throw new NoSuchElementException();
+        }
+
+        connection.setWeight(weight);
+        modificationCount++;
+        for (GraphListener<T> listener : listeners){
+            listener.weightChanged(nodeA, nodeB, weight);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.SET_CONNECTION_WEIGHT, start, nodeA, nodeB, weight);
+        }
+    }
+
+    @Override
+    public Set<T> getNodes() {
+        return new HashSet<>(graphMap.keySet());
+    }
+
+    @Override
+    public Collection<Edge<T>> getEdgesFrom(T node) {
+        if (!graphMap.containsKey(node)){
+            throw new NoSuchElementException();
+        }
+
+        return edgesOf(graphMap.get(node));
+    }
+
+    @Override
+    public Edge<T> getEdgeBetween(T nodeA, T nodeB) {
+        if (!graphMap.containsKey(nodeA) || !graphMap.containsKey(nodeB)){
+            throw new NoSuchElementException();
+        }
+
+        Connection connection = graphMap.get(nodeA).get(nodeB);
+        return connection == null ? null : new Edge<>(connection, nodeB);
+    }
+
+    @Override
+    public void disconnect(T nodeA, T nodeB) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (!graphMap.containsKey(nodeA) || !graphMap.containsKey(nodeB)){
+            throw new NoSuchElementException();
+        }
+
+        if (graphMap.get(nodeA).remove(nodeB) == null){
+            throw new IllegalStateException();
+        }
+        graphMap.get(nodeB).remove(nodeA);
+        components.invalidate(nodeA);
+        modificationCount++;
+        for (GraphListener<T> listener : listeners){
+            listener.disconnected(nodeA, nodeB);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.DISCONNECT, start, nodeA, nodeB, 0);
+        }
+    }
+
+    @Override
+    public void remove(T nodeA) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (!graphMap.containsKey(nodeA)){
+            throw new NoSuchElementException();
+        }
+
+        for(T nodeB : graphMap.get(nodeA).keySet()){
+            if (!nodeB.equals(nodeA)) {
+                graphMap.get(nodeB).remove(nodeA);
+            }
+        }
+        graphMap.remove(nodeA);
+        components.remove(nodeA);
+        modificationCount++;
+        for (GraphListener<T> listener : listeners){
+            listener.nodeRemoved(nodeA);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.REMOVE, start, nodeA, null, 0);
+        }
+    }
+
+    @Override
+    public boolean pathExists(T from, T to) {
+        if(!graphMap.containsKey(from) || !graphMap.containsKey(to)){
+            return false;
+        }
+
+        long start = metrics == null ? 0 : System.nanoTime();
+        boolean connected = components.connected(from, to);
+        if (metrics != null) {
+            metrics.recordQuery(GraphMetrics.Operation.PATH_EXISTS, start, from, to, 0, 0, 0, connected);
+        }
+        return connected;
+    }
+
+    public int getComponentCount() {
+        return components.getComponentCount();
+    }
+
+    public int[] getComponentSizes() {
+        return components.getComponentSizes();
+    }
+
+    @Override
+    public List<Edge<T>> getPath(T from, T to) {
+        Route<T> route = shortestPath(from, to);
+
+        if (route == null || route.getEdges().isEmpty())
+            return null;
+        else
+            return route.getEdges();
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to) {
+        return shortestPath(from, to, null);
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic) {
+        if (!graphMap.containsKey(from) || !graphMap.containsKey(to)){
+            throw new NoSuchElementException();
+        }
+
+        long start = metrics == null ? 0 : System.nanoTime();
+        long relaxed = 0;
+        long heapOperations = 1;
+        Route<T> route = null;
+        Map<T, Integer> ids = new HashMap<>();
+        List<T> nodes = new ArrayList<>();
+        List<Connection> predecessorConnections = new ArrayList<>();
+        int[] predecessors = new int[16];
+        long[] distances = new long[16];
+        long[] estimates = new long[16];
+        boolean[] settled = new boolean[16];
+        IndexedMinHeap heap = new IndexedMinHeap(16);
+
+        ids.put(from, 0);
+        nodes.add(from);
+        predecessorConnections.add(null);
+        predecessors[0] = -1;
+        heap.insertOrDecrease(0, estimate(heuristic, from, to));
+
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            heapOperations++;
+            settled[current] = true;
+            T currentNode = nodes.get(current);
+
+            if (currentNode.equals(to)) {
+                route = buildRoute(current, distances[current], nodes, predecessors, predecessorConnections);
+                break;
+            }
+
+            for (Map.Entry<T, Connection> entry : graphMap.get(currentNode).entrySet()){
+                relaxed++;
+                T destination = entry.getKey();
+                long distance = distances[current] + entry.getValue().getWeight();
+                Integer next = ids.get(destination);
+
+                if (next == null) {
+                    next = nodes.size();
+                    ids.put(destination, next);
+                    nodes.add(destination);
+                    predecessorConnections.add(null);
+                    if (next == distances.length) {
+                        int capacity = next * 2;
+                        distances = Arrays.copyOf(distances, capacity);
+                        predecessors = Arrays.copyOf(predecessors, capacity);
+                        estimates = Arrays.copyOf(estimates, capacity);
+                        settled = Arrays.copyOf(settled, capacity);
+                    }
+                    estimates[next] = estimate(heuristic, destination, to);
+                } else if (settled[next] || distance >= distances[next]) {
+                    continue;
+                }
+
+                distances[next] = distance;
+                predecessors[next] = current;
+                predecessorConnections.set(next, entry.getValue());
+                heap.insertOrDecrease(next, distance + estimates[next]);
+                heapOperations++;
+            }
+        }
+
+        if (metrics != null) {
+            metrics.recordQuery(GraphMetrics.Operation.SHORTEST_PATH, start, from, to,
+                    nodes.size(), relaxed, heapOperations, route != null);
+        }
+        return route;
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k) {
+        return kShortestPaths(from, to, k, 1);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k, double maximumOverlap) {
+        if (!graphMap.containsKey(from) || !graphMap.containsKey(to)){
+            throw new NoSuchElementException();
+        }
+
+        return snapshot().kShortestPaths(from, to, k, maximumOverlap);
+    }
+
+    @Override
+    public ShortestPathTree<T> shortestPathTree(T source) {
+        if (!graphMap.containsKey(source)){
+            throw new NoSuchElementException();
+        }
+
+        return snapshot().shortestPathTree(source);
+    }
+
+    private CsrGraph<T> snapshot() {
+        if (snapshot == null || snapshot.getModificationCount() != modificationCount) {
+            snapshot = new CsrGraph<>(this);
+        }
+        snapshot.setMetrics(metrics);
+        return snapshot;
+    }
+
+    private long estimate(ToDoubleBiFunction<T, T> heuristic, T node, T target) {
+        if (heuristic == null)
+            return 0;
+        else
+            return (long) Math.floor(heuristic.applyAsDouble(node, target));
+    }
+
+    private Route<T> buildRoute(int target, long totalWeight, List<T> nodes, int[] predecessors,
+                                List<Connection> predecessorConnections) {
+        LinkedList<Edge<T>> edges = new LinkedList<>();
+        for (int current = target; predecessors[current] >= 0; current = predecessors[current]) {
+            edges.addFirst(new Edge<>(predecessorConnections.get(current), nodes.get(current)));
+        }
+        return new Route<>(new ArrayList<>(edges), totalWeight);
+    }
+
+    private Collection<Edge<T>> edgesOf(Map<T, Connection> connections) {
+        return new AbstractCollection<Edge<T>>() {
+            @Override
+            public Iterator<Edge<T>> iterator() {
+                Iterator<Map.Entry<T, Connection>> entries = connections.entrySet().iterator();
+                return new Iterator<Edge<T>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Edge<T> next() {
+                        Map.Entry<T, Connection> entry = entries.next();
+                        return new Edge<>(entry.getValue(), entry.getKey());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return connections.size();
+            }
+        };
+    }
+
+    public void addGraphListener(GraphListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGraphListener(GraphListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    public void setMetrics(GraphMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public GraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("Nodes: ");
+
+        for (Map.Entry<T, Map<T, Connection>> keyValuePair : graphMap.entrySet()){
+            stringBuilder.append("\n").append(keyValuePair.getKey()).append(": ").append(edgesOf(keyValuePair.getValue()));
+        }
+
+        return stringBuilder.toString();
+    }
+}
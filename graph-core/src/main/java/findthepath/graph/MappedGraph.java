@@ -0,0 +1,163 @@
+package findthepath.graph;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+public class MappedGraph extends IndexedGraph<String> {
+    static final int MAGIC = 0x47505446;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 88;
+    static final int NODE_RECORD_SIZE = 24;
+
+    private final MappedByteBuffer buffer;
+    private final int nodeCount;
+    private final int hashCapacity;
+    private final int nodesOffset;
+    private final int offsetsOffset;
+    private final int targetsOffset;
+    private final int weightsOffset;
+    private final int arcNamesOffset;
+    private final int hashOffset;
+    private final int poolOffset;
+
+    private MappedGraph(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary graph file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported binary graph version " + buffer.getInt(4));
+        }
+
+        nodeCount = buffer.getInt(8);
+        int arcCount = buffer.getInt(12);
+        hashCapacity = buffer.getInt(16);
+        if (nodeCount < 0 || arcCount < 0 || Integer.bitCount(hashCapacity) != 1) {
+            throw new IOException("Corrupt binary graph header");
+        }
+
+        nodesOffset = section(24, (long) nodeCount * NODE_RECORD_SIZE);
+        offsetsOffset = section(32, (nodeCount + 1L) * Integer.BYTES);
+        targetsOffset = section(40, (long) arcCount * Integer.BYTES);
+        weightsOffset = section(48, (long) arcCount * Integer.BYTES);
+        arcNamesOffset = section(56, (long) arcCount * 2 * Integer.BYTES);
+        hashOffset = section(64, (long) hashCapacity * Integer.BYTES);
+        poolOffset = section(72, buffer.getLong(80));
+        if (buffer.getInt(offsetsOffset + nodeCount * Integer.BYTES) != arcCount) {
+            throw new IOException("Corrupt binary graph header");
+        }
+    }
+
+    private int section(int headerPosition, long size) throws IOException {
+        long offset = buffer.getLong(headerPosition);
+        if (size < 0 || size > buffer.capacity() || offset < HEADER_SIZE || offset > buffer.capacity() - size) {
+            throw new IOException("Truncated binary graph file");
+        }
+        return (int) offset;
+    }
+
+    public static MappedGraph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary graph file larger than 2 GB");
+            }
+            return new MappedGraph(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static int hash(String name) {
+        int hash = name.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public String getNode(int id) {
+        int record = nodesOffset + id * NODE_RECORD_SIZE;
+        return readString(buffer.getInt(record), buffer.getInt(record + 4));
+    }
+
+    public double getX(String node) {
+        return buffer.getDouble(nodesOffset + getId(node) * NODE_RECORD_SIZE + 8);
+    }
+
+    public double getY(String node) {
+        return buffer.getDouble(nodesOffset + getId(node) * NODE_RECORD_SIZE + 16);
+    }
+
+    @Override
+    public int getArcStart(int node) {
+        return buffer.getInt(offsetsOffset + node * Integer.BYTES);
+    }
+
+    @Override
+    public int getArcTarget(int arc) {
+        return buffer.getInt(targetsOffset + arc * Integer.BYTES);
+    }
+
+    @Override
+    public int getArcWeight(int arc) {
+        return buffer.getInt(weightsOffset + arc * Integer.BYTES);
+    }
+
+    @Override
+    public String getArcName(int arc) {
+        int reference = arcNamesOffset + arc * 2 * Integer.BYTES;
+        return readString(buffer.getInt(reference), buffer.getInt(reference + 4));
+    }
+
+    @Override
+    protected int findId(String node) {
+        byte[] name = node.getBytes(StandardCharsets.UTF_8);
+
+        int slot = hash(node) & (hashCapacity - 1);
+        while (true) {
+            int entry = buffer.getInt(hashOffset + slot * Integer.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            if (nameEquals(entry - 1, name)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & (hashCapacity - 1);
+        }
+    }
+
+    @Override
+    public long getModificationCount() {
+        return 0;
+    }
+
+    private boolean nameEquals(int id, byte[] name) {
+        int record = nodesOffset + id * NODE_RECORD_SIZE;
+        if (buffer.getInt(record + 4) != name.length) {
+            return false;
+        }
+
+        int offset = poolOffset + buffer.getInt(record);
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(offset + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(poolOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,12 @@
+package findthepath.graph;
+
+public interface NodeFormat<T> {
+
+    T create(String name, double x, double y);
+
+    String getName(T node);
+
+    double getX(T node);
+
+    double getY(T node);
+}
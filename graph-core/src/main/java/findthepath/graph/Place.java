@@ -0,0 +1,40 @@
+package findthepath.graph;
+
+public class Place {
+    private final String name;
+    private final double x;
+    private final double y;
+
+    public Place(String name, double x, double y) {
+        this.name = name;
+        this.x = x;
+        this.y = y;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Place && name.equals(((Place) other).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
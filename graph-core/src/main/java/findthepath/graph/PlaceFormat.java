@@ -0,0 +1,24 @@
+package findthepath.graph;
+
+public class PlaceFormat implements NodeFormat<Place> {
+
+    @Override
+    public Place create(String name, double x, double y) {
+        return new Place(name, x, y);
+    }
+
+    @Override
+    public String getName(Place place) {
+        return place.getName();
+    }
+
+    @Override
+    public double getX(Place place) {
+        return place.getX();
+    }
+
+    @Override
+    public double getY(Place place) {
+        return place.getY();
+    }
+}
@@ -0,0 +1,400 @@
+package findthepath.graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ToDoubleBiFunction;
+
+public class PrimitiveGraph<T> implements Graph<T> {
+
+    private final IntGraph graph;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private Object[] nodes = new Object[16];
+    private final ConcurrentLinkedQueue<SearchSpace> spaces = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Frontiers> frontiers = new ConcurrentLinkedQueue<>();
+    private CsrGraph<T> snapshot;
+    private final List<GraphListener<T>> listeners = new ArrayList<>();
+    private GraphMetrics metrics;
+
+    public PrimitiveGraph() {
+        this(new IntGraph());
+    }
+
+    public PrimitiveGraph(IntGraph graph) {
+        if (graph.getNodeCount() != 0) {
+            throw new IllegalArgumentException("Graph must be empty");
+        }
+        this.graph = graph;
+    }
+
+    public PrimitiveGraph(Graph<T> graph) {
+        this(new IntGraph());
+        for (T node : graph.getNodes()) {
+            add(node);
+        }
+        for (T node : graph.getNodes()) {
+            int id = getId(node);
+            for (Edge<T> edge : graph.getEdgesFrom(node)) {
+                int other = getId(edge.getDestination());
+                if (id <= other) {
+                    this.graph.connectUnchecked(id, other, edge.getName(), edge.getWeight());
+                }
+            }
+        }
+    }
+
+    public IntGraph getIntGraph() {
+        return graph;
+    }
+
+    public int getId(T node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            throw new NoSuchElementException();
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T getNode(int id) {
+        if (!graph.contains(id)) {
+            throw new NoSuchElementException();
+        }
+        return (T) nodes[id];
+    }
+
+    @Override
+    public void add(T node) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (!ids.containsKey(node)) {
+            int id = graph.addNode();
+            if (id >= nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(id + 1, nodes.length + (nodes.length >> 1)));
+            }
+            nodes[id] = node;
+            ids.put(node, id);
+            for (GraphListener<T> listener : listeners) {
+                listener.nodeAdded(node);
+            }
+            if (metrics != null) {
+                metrics.recordMutation(GraphMetrics.Operation.ADD, start, node, null, 0);
+            }
+        }
+    }
+
+    @Override
+    public void connect(T node1, T node2, String name, int weight) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        graph.connect(getId(node1), getId(node2), name, weight);
+        for (GraphListener<T> listener : listeners) {
+            listener.connected(node1, node2, name, weight);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.CONNECT, start, node1, node2, weight);
+        }
+    }
+
+    @Override
+    public void setConnectionWeight(T node1, T node2, int weight) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        if (weight < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        int edge = graph.findEdge(getId(node1), getId(node2));
+        if (edge < 0) {
+            throw new NoSuchElementException();
+        }
+        graph.setWeight(edge, weight);
+        for (GraphListener<T> listener : listeners) {
+            listener.weightChanged(node1, node2, weight);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.SET_CONNECTION_WEIGHT, start, node1, node2, weight);
+        }
+    }
+
+    @Override
+    public Set<T> getNodes() {
+        return new HashSet<>(ids.keySet());
+    }
+
+    @Override
+    public Collection<Edge<T>> getEdgesFrom(T node) {
+        int id = getId(node);
+
+        int degree = graph.getDegree(id);
+        List<Edge<T>> edges = new ArrayList<>(degree);
+        for (int i = 0; i < degree; i++) {
+            edges.add(toEdge(graph.getEdge(id, i), id));
+        }
+        return edges;
+    }
+
+    @Override
+    public Edge<T> getEdgeBetween(T node1, T node2) {
+        int id = getId(node1);
+        int edge = graph.findEdge(id, getId(node2));
+        return edge < 0 ? null : toEdge(edge, id);
+    }
+
+    @Override
+    public void disconnect(T node1, T node2) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        graph.disconnect(getId(node1), getId(node2));
+        for (GraphListener<T> listener : listeners) {
+            listener.disconnected(node1, node2);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.DISCONNECT, start, node1, node2, 0);
+        }
+    }
+
+    @Override
+    public void remove(T node) {
+        long start = metrics == null ? 0 : System.nanoTime();
+        int id = getId(node);
+        graph.removeNode(id);
+        ids.remove(node);
+        nodes[id] = null;
+        for (GraphListener<T> listener : listeners) {
+            listener.nodeRemoved(node);
+        }
+        if (metrics != null) {
+            metrics.recordMutation(GraphMetrics.Operation.REMOVE, start, node, null, 0);
+        }
+    }
+
+    @Override
+    public boolean pathExists(T from, T to) {
+        Integer source = ids.get(from);
+        Integer target = ids.get(to);
+        if (source == null || target == null) {
+            return false;
+        }
+
+        if (source.equals(target)) {
+            return true;
+        }
+
+        long start = metrics == null ? 0 : System.nanoTime();
+        Frontiers scratch = acquireFrontiers();
+        try {
+            int fromStart = scratch.mark + 1;
+            int fromEnd = scratch.mark + 2;
+            scratch.visits[source] = fromStart;
+            scratch.visits[target] = fromEnd;
+            scratch.fromStart.add(source);
+            scratch.fromEnd.add(target);
+
+            int startHead = 0;
+            int endHead = 0;
+            boolean meets = false;
+            while (!meets && startHead < scratch.fromStart.size() && endHead < scratch.fromEnd.size()) {
+                if (scratch.fromStart.size() - startHead <= scratch.fromEnd.size() - endHead) {
+                    int levelEnd = scratch.fromStart.size();
+                    meets = expandFrontier(scratch, scratch.fromStart, startHead, levelEnd, fromStart, fromEnd);
+                    startHead = levelEnd;
+                } else {
+                    int levelEnd = scratch.fromEnd.size();
+                    meets = expandFrontier(scratch, scratch.fromEnd, endHead, levelEnd, fromEnd, fromStart);
+                    endHead = levelEnd;
+                }
+            }
+
+            if (metrics != null) {
+                metrics.recordQuery(GraphMetrics.Operation.PATH_EXISTS, start, from, to,
+                        scratch.fromStart.size() + scratch.fromEnd.size(), 0, 0, meets);
+            }
+            return meets;
+        } finally {
+            releaseFrontiers(scratch);
+        }
+    }
+
+    private boolean expandFrontier(Frontiers scratch, IntList queue, int head, int levelEnd, int side, int otherSide) {
+        for (; head < levelEnd; head++) {
+            int current = queue.get(head);
+            int degree = graph.getDegree(current);
+            for (int i = 0; i < degree; i++) {
+                int next = graph.getOtherEnd(graph.getEdge(current, i), current);
+                if (scratch.visits[next] == otherSide) {
+                    return true;
+                }
+                if (scratch.visits[next] != side) {
+                    scratch.visits[next] = side;
+                    queue.add(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Edge<T>> getPath(T from, T to) {
+        Route<T> route = shortestPath(from, to);
+
+        if (route == null || route.getEdges().isEmpty())
+            return null;
+        else
+            return route.getEdges();
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to) {
+        return shortestPath(from, to, null);
+    }
+
+    @Override
+    public Route<T> shortestPath(T from, T to, ToDoubleBiFunction<T, T> heuristic) {
+        int source = getId(from);
+        int target = getId(to);
+
+        long start = metrics == null ? 0 : System.nanoTime();
+        SearchSpace space = acquireSpace();
+        try {
+            space.reach(source, 0, estimate(heuristic, source, to), -1, -1);
+
+            Route<T> route = null;
+            long relaxed = 0;
+            while (!space.isEmpty()) {
+                int current = space.poll();
+                if (current == target) {
+                    route = buildRoute(source, target, space.getDistance(target), space);
+                    break;
+                }
+
+                long currentDistance = space.getDistance(current);
+                int degree = graph.getDegree(current);
+                relaxed += degree;
+                for (int i = 0; i < degree; i++) {
+                    int edge = graph.getEdge(current, i);
+                    int next = graph.getOtherEnd(edge, current);
+                    long distance = currentDistance + graph.getWeight(edge);
+                    if (distance < space.getDistance(next)) {
+                        space.reach(next, distance, distance + estimate(heuristic, next, to), current, edge);
+                    }
+                }
+            }
+
+            if (metrics != null) {
+                metrics.recordQuery(GraphMetrics.Operation.SHORTEST_PATH, start, from, to,
+                        space.getSettledCount(), relaxed, space.getHeapOperationCount(), route != null);
+            }
+            return route;
+        } finally {
+            releaseSpace(space);
+        }
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k) {
+        return kShortestPaths(from, to, k, 1);
+    }
+
+    @Override
+    public List<Route<T>> kShortestPaths(T from, T to, int k, double maximumOverlap) {
+        getId(from);
+        getId(to);
+        return snapshot().kShortestPaths(from, to, k, maximumOverlap);
+    }
+
+    @Override
+    public ShortestPathTree<T> shortestPathTree(T source) {
+        getId(source);
+        return snapshot().shortestPathTree(source);
+    }
+
+    public void addGraphListener(GraphListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGraphListener(GraphListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    public void setMetrics(GraphMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public GraphMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return graph.getModificationCount();
+    }
+
+    private CsrGraph<T> snapshot() {
+        if (snapshot == null || snapshot.getModificationCount() != graph.getModificationCount()) {
+            snapshot = new CsrGraph<>(this);
+        }
+        snapshot.setMetrics(metrics);
+        return snapshot;
+    }
+
+    private long estimate(ToDoubleBiFunction<T, T> heuristic, int id, T target) {
+        if (heuristic == null)
+            return 0;
+        else
+            return (long) Math.floor(heuristic.applyAsDouble(getNode(id), target));
+    }
+
+    private SearchSpace acquireSpace() {
+        SearchSpace space;
+        while ((space = spaces.poll()) != null) {
+            if (space.getNodeCount() >= graph.getIdBound()) {
+                return space;
+            }
+        }
+        return new SearchSpace(graph.getIdBound());
+    }
+
+    private void releaseSpace(SearchSpace space) {
+        space.reset();
+        spaces.add(space);
+    }
+
+    private Frontiers acquireFrontiers() {
+        Frontiers scratch;
+        while ((scratch = frontiers.poll()) != null) {
+            if (scratch.getNodeCount() >= graph.getIdBound()) {
+                return scratch;
+            }
+        }
+        return new Frontiers(graph.getIdBound());
+    }
+
+    private void releaseFrontiers(Frontiers scratch) {
+        scratch.reset();
+        frontiers.add(scratch);
+    }
+
+    private Route<T> buildRoute(int source, int target, long totalWeight, SearchSpace space) {
+        int length = 0;
+        for (int current = target; current != source; current = space.getPredecessor(current)) {
+            length++;
+        }
+
+        List<Edge<T>> edges = new ArrayList<>(Collections.nCopies(length, null));
+        for (int current = target; current != source; current = space.getPredecessor(current)) {
+            edges.set(--length, toEdge(space.getPredecessorArc(current), space.getPredecessor(current)));
+        }
+        return new Route<>(edges, totalWeight);
+    }
+
+    private Edge<T> toEdge(int edge, int from) {
+        return new Edge<>(getNode(graph.getOtherEnd(edge, from)), graph.getName(edge), graph.getWeight(edge));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("Nodes: ");
+
+        for (T node : ids.keySet()) {
+            stringBuilder.append("\n").append(node).append(": ").append(getEdgesFrom(node));
+        }
+
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package findthepath.graph;
+
+import java.util.Collections;
+import java.util.List;
+
+public class Route<T> {
+    private final List<Edge<T>> edges;
+    private final long totalWeight;
+
+    public Route(List<Edge<T>> edges, long totalWeight) {
+        this.edges = Collections.unmodifiableList(edges);
+        this.totalWeight = totalWeight;
+    }
+
+    public List<Edge<T>> getEdges() {
+        return edges;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    @Override
+    public String toString() {
+        return edges + " total " + totalWeight;
+    }
+}
@@ -0,0 +1,88 @@
+package findthepath.graph;
+
+import java.util.Arrays;
+
+public class SearchSpace {
+    private final long[] distances;
+    private final int[] predecessors;
+    private final int[] predecessorArcs;
+    private final IndexedMinHeap heap;
+    private final IntList touched = new IntList();
+    private long settledCount;
+    private long heapOperationCount;
+
+    public SearchSpace(int nodeCount) {
+        distances = new long[nodeCount];
+        predecessors = new int[nodeCount];
+        predecessorArcs = new int[nodeCount];
+        heap = new IndexedMinHeap(nodeCount);
+        Arrays.fill(distances, Long.MAX_VALUE);
+    }
+
+    public int getNodeCount() {
+        return distances.length;
+    }
+
+    public boolean isReached(int node) {
+        return distances[node] != Long.MAX_VALUE;
+    }
+
+    public long getDistance(int node) {
+        return distances[node];
+    }
+
+    public int getPredecessor(int node) {
+        return predecessors[node];
+    }
+
+    public int getPredecessorArc(int node) {
+        return predecessorArcs[node];
+    }
+
+    public void reach(int node, long distance, int predecessor, int predecessorArc) {
+        reach(node, distance, distance, predecessor, predecessorArc);
+    }
+
+    public void reach(int node, long distance, long key, int predecessor, int predecessorArc) {
+        if (distances[node] == Long.MAX_VALUE) {
+            touched.add(node);
+        }
+        distances[node] = distance;
+        predecessors[node] = predecessor;
+        predecessorArcs[node] = predecessorArc;
+        heap.insertOrDecrease(node, key);
+        heapOperationCount++;
+    }
+
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    public long peekKey() {
+        return heap.peekKey();
+    }
+
+    public int poll() {
+        settledCount++;
+        heapOperationCount++;
+        return heap.poll();
+    }
+
+    public long getSettledCount() {
+        return settledCount;
+    }
+
+    public long getHeapOperationCount() {
+        return heapOperationCount;
+    }
+
+    public void reset() {
+        for (int i = 0; i < touched.size(); i++) {
+            distances[touched.get(i)] = Long.MAX_VALUE;
+        }
+        touched.clear();
+        heap.clear();
+        settledCount = 0;
+        heapOperationCount = 0;
+    }
+}
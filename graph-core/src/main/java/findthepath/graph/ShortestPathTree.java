@@ -0,0 +1,77 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class ShortestPathTree<T> {
+    public static final long UNREACHABLE = -1;
+    public static final int NO_PREDECESSOR = -1;
+
+    private final IndexedGraph<T> graph;
+    private final int source;
+    private final long[] distances;
+    private final int[] predecessors;
+    private final int[] predecessorArcs;
+
+    ShortestPathTree(IndexedGraph<T> graph, int source, long[] distances, int[] predecessors, int[] predecessorArcs) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.predecessorArcs = predecessorArcs;
+    }
+
+    public T getSource() {
+        return graph.getNode(source);
+    }
+
+    public IndexedGraph<T> getGraph() {
+        return graph;
+    }
+
+    public long getDistance(int node) {
+        return distances[node];
+    }
+
+    /**
+     * Returns the id of the node before {@code node} on its shortest path, or {@link #NO_PREDECESSOR} for the
+     * source and for nodes the source cannot reach.
+     */
+    public int getPredecessor(int node) {
+        return predecessors[node];
+    }
+
+    public boolean isReachable(T node) {
+        return distances[graph.getId(node)] != UNREACHABLE;
+    }
+
+    public long getDistance(T node) {
+        return distances[graph.getId(node)];
+    }
+
+    public Route<T> getRoute(T to) {
+        int target = graph.getId(to);
+        if (distances[target] == UNREACHABLE) {
+            return null;
+        }
+
+        int length = 0;
+        for (int current = target; current != source; current = predecessors[current]) {
+            length++;
+        }
+
+        List<Edge<T>> edges = new ArrayList<>(Collections.nCopies(length, null));
+        for (int current = target; current != source; current = predecessors[current]) {
+            edges.set(--length, graph.toEdge(predecessorArcs[current]));
+        }
+        return new Route<>(edges, distances[target]);
+    }
+
+    public List<Edge<T>> getPath(T to) {
+        Route<T> route = getRoute(to);
+
+        if (route == null || route.getEdges().isEmpty())
+            return null;
+        else
+            return route.getEdges();
+    }
+}
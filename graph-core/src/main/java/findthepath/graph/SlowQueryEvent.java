@@ -0,0 +1,34 @@
+package findthepath.graph;
+
+import jdk.jfr.*;
+
+@Name("findthepath.SlowQuery")
+@Label("Slow Graph Query")
+@Category({"Find the Path", "Graph"})
+@Description("A graph search that took longer than the slow query threshold")
+class SlowQueryEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Source")
+    String source;
+
+    @Label("Target")
+    String target;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+
+    @Label("Nodes Visited")
+    long nodesVisited;
+
+    @Label("Edges Relaxed")
+    long edgesRelaxed;
+
+    @Label("Heap Operations")
+    long heapOperations;
+
+    @Label("Found")
+    boolean found;
+}
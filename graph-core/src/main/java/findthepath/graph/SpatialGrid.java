@@ -0,0 +1,246 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class SpatialGrid<T> implements GraphListener<T> {
+
+    private final NodeFormat<T> format;
+    private final double cellSize;
+    private final Map<Long, List<T>> cells = new HashMap<>();
+    private int size;
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    public SpatialGrid(NodeFormat<T> format, double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException();
+        }
+        this.format = format;
+        this.cellSize = cellSize;
+    }
+
+    public void add(T node) {
+        int cellX = cell(format.getX(node));
+        int cellY = cell(format.getY(node));
+        cells.computeIfAbsent(key(cellX, cellY), key -> new ArrayList<>(4)).add(node);
+        size++;
+
+        minCellX = Math.min(minCellX, cellX);
+        minCellY = Math.min(minCellY, cellY);
+        maxCellX = Math.max(maxCellX, cellX);
+        maxCellY = Math.max(maxCellY, cellY);
+    }
+
+    public boolean remove(T node) {
+        long key = key(cell(format.getX(node)), cell(format.getY(node)));
+        List<T> cell = cells.get(key);
+        if (cell == null || !cell.remove(node)) {
+            return false;
+        }
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        cells.clear();
+        size = 0;
+        minCellX = Integer.MAX_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+    }
+
+    public List<T> range(double minX, double minY, double maxX, double maxY) {
+        List<T> result = new ArrayList<>();
+        if (size == 0 || minX > maxX || minY > maxY) {
+            return result;
+        }
+
+        int fromX = Math.max(cell(minX), minCellX);
+        int fromY = Math.max(cell(minY), minCellY);
+        int toX = Math.min(cell(maxX), maxCellX);
+        int toY = Math.min(cell(maxY), maxCellY);
+        if (fromX > toX || fromY > toY) {
+            return result;
+        }
+
+        if ((long) (toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+            for (List<T> cell : cells.values()) {
+                collect(cell, minX, minY, maxX, maxY, result);
+            }
+        } else {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                for (int cellY = fromY; cellY <= toY; cellY++) {
+                    List<T> cell = cells.get(key(cellX, cellY));
+                    if (cell != null) {
+                        collect(cell, minX, minY, maxX, maxY, result);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public T nearest(double x, double y) {
+        List<T> nearest = nearest(x, y, 1);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+
+    public T nearestWithin(double x, double y, double maximumDistance) {
+        T nearest = nearest(x, y);
+        if (nearest == null || distanceSquared(nearest, x, y) > maximumDistance * maximumDistance) {
+            return null;
+        }
+        return nearest;
+    }
+
+    public List<T> nearest(double x, double y, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (k == 0 || size == 0) {
+            return new ArrayList<>();
+        }
+
+        PriorityQueue<Candidate<T>> best = new PriorityQueue<>(k + 1,
+                (a, b) -> Double.compare(b.distanceSquared, a.distanceSquared));
+        int centerX = cell(x);
+        int centerY = cell(y);
+        long firstRing = Math.max(
+                Math.max((long) minCellX - centerX, (long) centerX - maxCellX),
+                Math.max((long) minCellY - centerY, (long) centerY - maxCellY));
+        long lastRing = Math.max(
+                Math.max((long) centerX - minCellX, (long) maxCellX - centerX),
+                Math.max((long) centerY - minCellY, (long) maxCellY - centerY));
+
+        for (long ring = Math.max(firstRing, 0); ring <= lastRing; ring++) {
+            if (best.size() == k) {
+                double reach = (ring - 1) * cellSize + Math.min(
+                        Math.min(x - centerX * cellSize, (centerX + 1) * cellSize - x),
+                        Math.min(y - centerY * cellSize, (centerY + 1) * cellSize - y));
+                if (reach > 0 && reach * reach >= best.peek().distanceSquared) {
+                    break;
+                }
+            }
+            visitRing(centerX, centerY, ring, x, y, k, best);
+        }
+
+        List<T> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(best.poll().node);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    @Override
+    public void nodeAdded(T node) {
+        add(node);
+    }
+
+    @Override
+    public void nodeRemoved(T node) {
+        remove(node);
+    }
+
+    private void visitRing(int centerX, int centerY, long ring, double x, double y, int k,
+                           PriorityQueue<Candidate<T>> best) {
+        long fromX = Math.max(centerX - ring, minCellX);
+        long toX = Math.min(centerX + ring, maxCellX);
+        long fromY = Math.max(centerY - ring + 1, minCellY);
+        long toY = Math.min(centerY + ring - 1, maxCellY);
+
+        visitRow(centerY - ring, fromX, toX, x, y, k, best);
+        if (ring > 0) {
+            visitRow(centerY + ring, fromX, toX, x, y, k, best);
+            visitColumn(centerX - ring, fromY, toY, x, y, k, best);
+            visitColumn(centerX + ring, fromY, toY, x, y, k, best);
+        }
+    }
+
+    private void visitRow(long cellY, long fromX, long toX, double x, double y, int k,
+                          PriorityQueue<Candidate<T>> best) {
+        if (cellY < minCellY || cellY > maxCellY) {
+            return;
+        }
+        for (long cellX = fromX; cellX <= toX; cellX++) {
+            visitCell((int) cellX, (int) cellY, x, y, k, best);
+        }
+    }
+
+    private void visitColumn(long cellX, long fromY, long toY, double x, double y, int k,
+                             PriorityQueue<Candidate<T>> best) {
+        if (cellX < minCellX || cellX > maxCellX) {
+            return;
+        }
+        for (long cellY = fromY; cellY <= toY; cellY++) {
+            visitCell((int) cellX, (int) cellY, x, y, k, best);
+        }
+    }
+
+    private void visitCell(int cellX, int cellY, double x, double y, int k, PriorityQueue<Candidate<T>> best) {
+        List<T> cell = cells.get(key(cellX, cellY));
+        if (cell == null) {
+            return;
+        }
+        for (T node : cell) {
+            double distanceSquared = distanceSquared(node, x, y);
+            if (best.size() < k) {
+                best.add(new Candidate<>(node, distanceSquared));
+            } else if (distanceSquared < best.peek().distanceSquared) {
+                best.poll();
+                best.add(new Candidate<>(node, distanceSquared));
+            }
+        }
+    }
+
+    private void collect(List<T> cell, double minX, double minY, double maxX, double maxY, List<T> result) {
+        for (T node : cell) {
+            double x = format.getX(node);
+            double y = format.getY(node);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                result.add(node);
+            }
+        }
+    }
+
+    private double distanceSquared(T node, double x, double y) {
+        double dx = format.getX(node) - x;
+        double dy = format.getY(node) - y;
+        return dx * dx + dy * dy;
+    }
+
+    private int cell(double coordinate) {
+        double cell = Math.floor(coordinate / cellSize);
+        if (cell >= Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        if (cell <= Integer.MIN_VALUE) {
+            return Integer.MIN_VALUE;
+        }
+        return (int) cell;
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    private static class Candidate<T> {
+        private final T node;
+        private final double distanceSquared;
+
+        Candidate(T node, double distanceSquared) {
+            this.node = node;
+            this.distanceSquared = distanceSquared;
+        }
+    }
+}
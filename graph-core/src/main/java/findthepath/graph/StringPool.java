@@ -0,0 +1,26 @@
+package findthepath.graph;
+
+import java.util.*;
+
+public class StringPool {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    public synchronized int intern(String string) {
+        Integer id = ids.get(string);
+        if (id == null) {
+            id = strings.size();
+            ids.put(string, id);
+            strings.add(string);
+        }
+        return id;
+    }
+
+    public synchronized String get(int id) {
+        return strings.get(id);
+    }
+
+    public synchronized int size() {
+        return strings.size();
+    }
+}
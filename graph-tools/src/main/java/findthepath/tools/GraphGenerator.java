@@ -0,0 +1,210 @@
+package findthepath.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+public class GraphGenerator {
+    private static final double SPACING = 100;
+    private static final int MAXIMUM_HUB_WEIGHT = 100;
+
+    public enum Shape {
+        GRID, GEOMETRIC, HUB
+    }
+
+    private final Shape shape;
+    private final int nodeCount;
+    private final int degree;
+    private final long seed;
+    private String imageUrl = "file:europa.gif";
+
+    public GraphGenerator(Shape shape, int nodeCount, int degree, long seed) {
+        if (nodeCount < 1 || degree < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.shape = shape;
+        this.nodeCount = nodeCount;
+        this.degree = degree;
+        this.seed = seed;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public long write(Writer writer) throws IOException {
+        writer.write(imageUrl);
+        writer.write('\n');
+
+        switch (shape) {
+            case GRID:
+                return writeGrid(writer);
+            case GEOMETRIC:
+                return writeGeometric(writer);
+            default:
+                return writeHub(writer);
+        }
+    }
+
+    private long writeGrid(Writer writer) throws IOException {
+        int side = (int) Math.ceil(Math.sqrt(nodeCount));
+        for (int node = 0; node < nodeCount; node++) {
+            writeNode(writer, node, (node % side) * SPACING, (node / side) * SPACING);
+        }
+        writer.write('\n');
+
+        Random random = new Random(seed);
+        long edges = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if ((node + 1) % side != 0 && node + 1 < nodeCount) {
+                writeEdge(writer, node, node + 1, roadWeight(random));
+                edges++;
+            }
+            if (node + side < nodeCount) {
+                writeEdge(writer, node, node + side, roadWeight(random));
+                edges++;
+            }
+        }
+        return edges;
+    }
+
+    private long writeGeometric(Writer writer) throws IOException {
+        Random random = new Random(seed);
+        double extent = Math.sqrt(nodeCount) * SPACING;
+        double radius = SPACING * Math.sqrt(degree / Math.PI);
+        int cellsPerSide = Math.max(1, (int) Math.min(Math.ceil(extent / radius), Math.ceil(Math.sqrt(nodeCount))));
+        double cellSize = extent / cellsPerSide;
+
+        double[] xs = new double[nodeCount];
+        double[] ys = new double[nodeCount];
+        int[] cellStarts = new int[cellsPerSide * cellsPerSide + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            xs[node] = random.nextDouble() * extent;
+            ys[node] = random.nextDouble() * extent;
+            writeNode(writer, node, xs[node], ys[node]);
+            cellStarts[cellOf(xs[node], ys[node], cellSize, cellsPerSide) + 1]++;
+        }
+        writer.write('\n');
+
+        for (int cell = 0; cell < cellsPerSide * cellsPerSide; cell++) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        int[] cellNodes = new int[nodeCount];
+        int[] fill = new int[cellsPerSide * cellsPerSide];
+        for (int node = 0; node < nodeCount; node++) {
+            int cell = cellOf(xs[node], ys[node], cellSize, cellsPerSide);
+            cellNodes[cellStarts[cell] + fill[cell]++] = node;
+        }
+
+        long edges = 0;
+        double radiusSquared = radius * radius;
+        for (int node = 0; node < nodeCount; node++) {
+            int cellX = Math.min((int) (xs[node] / cellSize), cellsPerSide - 1);
+            int cellY = Math.min((int) (ys[node] / cellSize), cellsPerSide - 1);
+            int reach = (int) Math.ceil(radius / cellSize);
+
+            for (int y = Math.max(0, cellY - reach); y <= Math.min(cellsPerSide - 1, cellY + reach); y++) {
+                for (int x = Math.max(0, cellX - reach); x <= Math.min(cellsPerSide - 1, cellX + reach); x++) {
+                    int cell = y * cellsPerSide + x;
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                        int other = cellNodes[i];
+                        if (other <= node) {
+                            continue;
+                        }
+                        double dx = xs[node] - xs[other];
+                        double dy = ys[node] - ys[other];
+                        double distanceSquared = dx * dx + dy * dy;
+                        if (distanceSquared <= radiusSquared) {
+                            writeEdge(writer, node, other, 1 + (int) Math.sqrt(distanceSquared));
+                            edges++;
+                        }
+                    }
+                }
+            }
+        }
+        return edges;
+    }
+
+    private long writeHub(Writer writer) throws IOException {
+        Random random = new Random(seed);
+        double extent = Math.sqrt(nodeCount) * SPACING;
+        for (int node = 0; node < nodeCount; node++) {
+            writeNode(writer, node, random.nextDouble() * extent, random.nextDouble() * extent);
+        }
+        writer.write('\n');
+
+        int links = Math.max(1, degree / 2);
+        int seedNodes = Math.min(links + 1, nodeCount);
+        int[] endpoints = new int[(int) Math.min(Integer.MAX_VALUE - 8, 2L * links * nodeCount)];
+        int endpointCount = 0;
+        long edges = 0;
+
+        for (int node = 1; node < seedNodes; node++) {
+            for (int other = 0; other < node; other++) {
+                writeEdge(writer, node, other, 1 + random.nextInt(MAXIMUM_HUB_WEIGHT));
+                endpoints[endpointCount++] = node;
+                endpoints[endpointCount++] = other;
+                edges++;
+            }
+        }
+
+        int[] targets = new int[links];
+        for (int node = seedNodes; node < nodeCount; node++) {
+            int chosen = 0;
+            while (chosen < links) {
+                int target = endpoints[random.nextInt(endpointCount)];
+                if (!contains(targets, chosen, target)) {
+                    targets[chosen++] = target;
+                }
+            }
+            for (int i = 0; i < links; i++) {
+                writeEdge(writer, node, targets[i], 1 + random.nextInt(MAXIMUM_HUB_WEIGHT));
+                endpoints[endpointCount++] = node;
+                endpoints[endpointCount++] = targets[i];
+                edges++;
+            }
+        }
+        return edges;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int cellOf(double x, double y, double cellSize, int cellsPerSide) {
+        int cellX = Math.min((int) (x / cellSize), cellsPerSide - 1);
+        int cellY = Math.min((int) (y / cellSize), cellsPerSide - 1);
+        return cellY * cellsPerSide + cellX;
+    }
+
+    private static int roadWeight(Random random) {
+        return (int) SPACING + random.nextInt((int) SPACING);
+    }
+
+    private static void writeNode(Writer writer, int node, double x, double y) throws IOException {
+        writer.write(nodeName(node));
+        writer.write(';');
+        writer.write(Double.toString(x));
+        writer.write(';');
+        writer.write(Double.toString(y));
+        writer.write(';');
+    }
+
+    private static void writeEdge(Writer writer, int from, int to, int weight) throws IOException {
+        writer.write(nodeName(from));
+        writer.write(';');
+        writer.write(nodeName(to));
+        writer.write(";road;");
+        writer.write(Integer.toString(weight));
+        writer.write('\n');
+    }
+
+    private static String nodeName(int node) {
+        return "p" + node;
+    }
+}
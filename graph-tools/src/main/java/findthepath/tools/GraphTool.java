@@ -0,0 +1,174 @@
+package findthepath.tools;
+
+import findthepath.graph.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GraphTool {
+    private static final String USAGE = String.join("\n",
+            "usage: graph-tools generate --shape grid|geometric|hub --nodes N --output FILE",
+            "                            [--degree D] [--seed S] [--image URL]",
+            "       graph-tools load-test --input FILE [--graph concurrent|cached|list] [--threads N]",
+            "                            [--operations N] [--warmup N] [--seed S]",
+            "                            [--mix path=50,exists=20,edge=20,weight=5,rewire=5]",
+            "       graph-tools serve --input FILE [--port N] [--concurrency N] [--admission-timeout-ms N]",
+            "                            [--batch-window-us N]");
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            Map<String, String> options = parseOptions(Arrays.copyOfRange(args, 1, args.length));
+            switch (args[0]) {
+                case "generate":
+                    generate(options);
+                    break;
+                case "load-test":
+                    loadTest(options);
+                    break;
+                case "serve":
+                    serve(options);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown command: " + args[0]);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+    }
+
+    private static void generate(Map<String, String> options) throws IOException {
+        GraphGenerator.Shape shape = GraphGenerator.Shape.valueOf(require(options, "shape").toUpperCase());
+        int nodes = Integer.parseInt(require(options, "nodes"));
+        int degree = Integer.parseInt(options.getOrDefault("degree", "4"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        Path output = Paths.get(require(options, "output"));
+
+        GraphGenerator generator = new GraphGenerator(shape, nodes, degree, seed);
+        if (options.containsKey("image")) {
+            generator.setImageUrl(options.get("image"));
+        }
+
+        long start = System.nanoTime();
+        long edges;
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            edges = generator.write(writer);
+        }
+        System.out.printf("Wrote %d places and %d connections to %s in %.2f s%n",
+                nodes, edges, output, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void loadTest(Map<String, String> options)
+            throws IOException, InterruptedException, ExecutionException {
+        Path input = Paths.get(require(options, "input"));
+        String implementation = options.getOrDefault("graph", "concurrent");
+        int threads = Integer.parseInt(options.getOrDefault("threads", "1"));
+        long operations = Long.parseLong(options.getOrDefault("operations", "100000"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        if (threads < 1 || operations < 0 || warmup < 0) {
+            throw new IllegalArgumentException("Counts must not be negative");
+        }
+
+        long start = System.nanoTime();
+        ListGraph<Place> listGraph = new ListGraph<>();
+        GraphFile<Place> graphFile = new GraphFileReader<>(new PlaceFormat()).read(input, listGraph);
+        System.out.printf("Loaded %d places from %s in %.2f s%n",
+                graphFile.getNodes().size(), input, (System.nanoTime() - start) / 1e9);
+
+        Graph<Place> graph;
+        Lock lock = null;
+        switch (implementation) {
+            case "concurrent":
+                graph = new ConcurrentGraph<>(listGraph);
+                break;
+            case "cached":
+                graph = new CachingGraph<>(new ConcurrentGraph<>(listGraph), 100_000, 10_000_000);
+                break;
+            case "list":
+                graph = listGraph;
+                lock = new ReentrantLock();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown graph implementation: " + implementation);
+        }
+
+        LoadTest<Place> loadTest = new LoadTest<>(graph, graphFile.getNodes(), lock);
+        parseMix(options.getOrDefault("mix", "path=50,exists=20,edge=20,weight=5,rewire=5"), loadTest);
+
+        System.out.printf("Running %d operations on %s with %d threads%n", operations, implementation, threads);
+        loadTest.run(threads, warmup, operations, seed);
+        loadTest.report(System.out);
+    }
+
+    private static void serve(Map<String, String> options) throws IOException {
+        Path input = Paths.get(require(options, "input"));
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency",
+                Integer.toString(Runtime.getRuntime().availableProcessors() * 4)));
+        long admissionTimeout = Long.parseLong(options.getOrDefault("admission-timeout-ms", "100"));
+        long batchWindow = Long.parseLong(options.getOrDefault("batch-window-us", "200"));
+
+        long start = System.nanoTime();
+        ListGraph<Place> listGraph = new ListGraph<>();
+        GraphFile<Place> graphFile = new GraphFileReader<>(new PlaceFormat()).read(input, listGraph);
+        ConcurrentGraph<Place> graph = new ConcurrentGraph<>(listGraph);
+        System.out.printf("Loaded %d places from %s in %.2f s%n",
+                graphFile.getNodes().size(), input, (System.nanoTime() - start) / 1e9);
+
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        RoutingServer server = new RoutingServer(graph, concurrency,
+                TimeUnit.MILLISECONDS.toMicros(admissionTimeout), batchWindow, TimeUnit.MICROSECONDS);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(0)));
+        System.out.printf("Serving /path, /exists and /matrix on http://%s:%d%n",
+                server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    private static void parseMix(String mix, LoadTest<?> loadTest) {
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed mix entry: " + entry);
+            }
+            loadTest.setShare(LoadTest.Operation.valueOf(parts[0].trim().toUpperCase()),
+                    Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Malformed option: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing option --" + name);
+        }
+        return value;
+    }
+}
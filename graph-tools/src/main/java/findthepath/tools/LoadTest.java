@@ -0,0 +1,196 @@
+package findthepath.tools;
+
+import findthepath.graph.Edge;
+import findthepath.graph.Graph;
+import findthepath.graph.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+public class LoadTest<T> {
+    private static final int MAXIMUM_WEIGHT = 1000;
+
+    public enum Operation {
+        PATH, EXISTS, EDGE, WEIGHT, REWIRE
+    }
+
+    private final Graph<T> graph;
+    private final List<T> nodes;
+    private final Lock lock;
+    private final EnumMap<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    private final EnumMap<Operation, AtomicLong> skips = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    public LoadTest(Graph<T> graph, List<T> nodes, Lock lock) {
+        if (nodes.size() < 2) {
+            throw new IllegalArgumentException("Load test needs at least two nodes");
+        }
+        this.graph = graph;
+        this.nodes = nodes;
+        this.lock = lock;
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, 0);
+            latencies.put(operation, new LatencyHistogram());
+            skips.put(operation, new AtomicLong());
+        }
+    }
+
+    public void setShare(Operation operation, int share) {
+        if (share < 0) {
+            throw new IllegalArgumentException();
+        }
+        mix.put(operation, share);
+    }
+
+    public void run(int threads, long warmupOperations, long operations, long seed)
+            throws InterruptedException, ExecutionException {
+        Operation[] schedule = buildSchedule();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            runPhase(executor, threads, schedule, warmupOperations, seed, false);
+            long start = System.nanoTime();
+            runPhase(executor, threads, schedule, operations, seed + threads, true);
+            elapsedNanos = System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void report(PrintStream out) {
+        long total = 0;
+        for (LatencyHistogram histogram : latencies.values()) {
+            total += histogram.getCount();
+        }
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%d operations in %.2f s, %.0f ops/s%n", total, seconds, total / seconds);
+        out.printf("%-8s %10s %12s %10s %10s %10s %10s %8s%n",
+                "op", "count", "ops/s", "p50 us", "p99 us", "p999 us", "max us", "skipped");
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies.get(operation);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            out.printf("%-8s %10d %12.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    operation.name().toLowerCase(), histogram.getCount(), histogram.getCount() / seconds,
+                    histogram.getValueAtPercentile(50) / 1e3, histogram.getValueAtPercentile(99) / 1e3,
+                    histogram.getValueAtPercentile(99.9) / 1e3, histogram.getMaximum() / 1e3,
+                    skips.get(operation).get());
+        }
+    }
+
+    private Operation[] buildSchedule() {
+        List<Operation> schedule = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule.add(entry.getKey());
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalStateException("Operation mix is empty");
+        }
+        return schedule.toArray(new Operation[0]);
+    }
+
+    private void runPhase(ExecutorService executor, int threads, Operation[] schedule, long operations,
+                          long seed, boolean record) throws InterruptedException, ExecutionException {
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            long share = operations / threads + (thread < operations % threads ? 1 : 0);
+            Random random = new Random(seed + thread);
+            workers.add(executor.submit(() -> work(schedule, share, random, record)));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    private void work(Operation[] schedule, long operations, Random random, boolean record) {
+        EnumMap<Operation, LatencyHistogram> local = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            local.put(operation, new LatencyHistogram());
+        }
+
+        for (long i = 0; i < operations; i++) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            T from = nodes.get(random.nextInt(nodes.size()));
+            T to = nodes.get(random.nextInt(nodes.size()));
+            int weight = 1 + random.nextInt(MAXIMUM_WEIGHT);
+
+            long start = System.nanoTime();
+            boolean applied = execute(operation, from, to, weight, random);
+            long latency = System.nanoTime() - start;
+
+            if (record) {
+                local.get(operation).record(latency);
+                if (!applied) {
+                    skips.get(operation).incrementAndGet();
+                }
+            }
+        }
+
+        if (record) {
+            for (Operation operation : Operation.values()) {
+                latencies.get(operation).add(local.get(operation));
+            }
+        }
+    }
+
+    private boolean execute(Operation operation, T from, T to, int weight, Random random) {
+        if (lock != null) {
+            lock.lock();
+        }
+        try {
+            switch (operation) {
+                case PATH:
+                    graph.shortestPath(from, to);
+                    return true;
+                case EXISTS:
+                    graph.pathExists(from, to);
+                    return true;
+                case EDGE:
+                    graph.getEdgeBetween(from, to);
+                    return true;
+                case WEIGHT:
+                    Edge<T> edge = randomEdge(from, random);
+                    if (edge == null) {
+                        return false;
+                    }
+                    graph.setConnectionWeight(from, edge.getDestination(), weight);
+                    return true;
+                default:
+                    Edge<T> removed = randomEdge(from, random);
+                    if (removed == null || from.equals(to) || graph.getEdgeBetween(from, to) != null) {
+                        return false;
+                    }
+                    graph.disconnect(from, removed.getDestination());
+                    graph.connect(from, to, "rewired", weight);
+                    return true;
+            }
+        } catch (NoSuchElementException | IllegalStateException e) {
+            return false;
+        } finally {
+            if (lock != null) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Edge<T> randomEdge(T node, Random random) {
+        Collection<Edge<T>> edges = graph.getEdgesFrom(node);
+        if (edges.isEmpty()) {
+            return null;
+        }
+
+        int index = random.nextInt(edges.size());
+        for (Edge<T> edge : edges) {
+            if (index-- == 0) {
+                return edge;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,317 @@
+package findthepath.tools;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import findthepath.graph.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+public class RoutingServer {
+    private static final int MAXIMUM_MATRIX_CELLS = 10_000;
+
+    private final ConcurrentGraph<Place> graph;
+    private final int maximumConcurrency;
+    private final Semaphore permits;
+    private final long admissionTimeoutNanos;
+    private final long batchWindowNanos;
+    private final ConcurrentHashMap<Place, Batch> batches = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public RoutingServer(ConcurrentGraph<Place> graph, int maximumConcurrency, long admissionTimeout,
+                         long batchWindow, TimeUnit unit) {
+        if (maximumConcurrency < 1 || admissionTimeout < 0 || batchWindow < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.graph = graph;
+        this.maximumConcurrency = maximumConcurrency;
+        this.permits = new Semaphore(maximumConcurrency);
+        this.admissionTimeoutNanos = unit.toNanos(admissionTimeout);
+        this.batchWindowNanos = unit.toNanos(batchWindow);
+    }
+
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server is already running");
+        }
+        executor = newRequestExecutor(maximumConcurrency * 2);
+        server = HttpServer.create(address, 0);
+        server.createContext("/path", exchange -> handle(exchange, this::path));
+        server.createContext("/exists", exchange -> handle(exchange, this::exists));
+        server.createContext("/matrix", exchange -> handle(exchange, this::matrix));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public synchronized void stop(int delaySeconds) {
+        if (server != null) {
+            server.stop(delaySeconds);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    public synchronized InetSocketAddress getAddress() {
+        if (server == null) {
+            throw new IllegalStateException("Server is not running");
+        }
+        return server.getAddress();
+    }
+
+    public Route<Place> route(Place from, Place to) throws InterruptedException {
+        if (batchWindowNanos == 0) {
+            return graph.shortestPath(from, to);
+        }
+
+        CsrGraph<Place> snapshot = graph.snapshot();
+        snapshot.getId(from);
+        snapshot.getId(to);
+
+        while (true) {
+            Batch batch = new Batch();
+            batch.join(to);
+            Batch existing = batches.putIfAbsent(from, batch);
+            if (existing == null) {
+                LockSupport.parkNanos(batchWindowNanos);
+                batches.remove(from, batch);
+                Set<Place> targets = new HashSet<>();
+                for (Place target : batch.close()) {
+                    if (contains(snapshot, target)) {
+                        targets.add(target);
+                    }
+                }
+                try {
+                    batch.routes.complete(snapshot.shortestPaths(from, targets));
+                } catch (RuntimeException | Error e) {
+                    batch.routes.completeExceptionally(e);
+                }
+            } else if (existing.join(to)) {
+                batch = existing;
+            } else {
+                continue;
+            }
+
+            Map<Place, Route<Place>> routes;
+            try {
+                routes = batch.routes.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            if (!routes.containsKey(to)) {
+                throw new NoSuchElementException();
+            }
+            return routes.get(to);
+        }
+    }
+
+    private static boolean contains(CsrGraph<Place> snapshot, Place place) {
+        try {
+            snapshot.getId(place);
+            return true;
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
+    private String path(Map<String, String> query) throws InterruptedException {
+        Place from = place(query, "from");
+        Place to = place(query, "to");
+        Route<Place> route = route(from, to);
+
+        StringBuilder json = new StringBuilder("{\"from\":");
+        appendString(json, from.getName()).append(",\"to\":");
+        appendString(json, to.getName());
+        if (route == null) {
+            return json.append(",\"reachable\":false}").toString();
+        }
+
+        json.append(",\"reachable\":true,\"distance\":").append(route.getTotalWeight()).append(",\"edges\":[");
+        List<Edge<Place>> edges = route.getEdges();
+        for (int i = 0; i < edges.size(); i++) {
+            Edge<Place> edge = edges.get(i);
+            json.append(i == 0 ? "{\"to\":" : ",{\"to\":");
+            appendString(json, edge.getDestination().getName()).append(",\"name\":");
+            appendString(json, edge.getName()).append(",\"weight\":").append(edge.getWeight()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String exists(Map<String, String> query) {
+        Place from = place(query, "from");
+        Place to = place(query, "to");
+
+        StringBuilder json = new StringBuilder("{\"from\":");
+        appendString(json, from.getName()).append(",\"to\":");
+        appendString(json, to.getName());
+        return json.append(",\"exists\":").append(graph.pathExists(from, to)).append('}').toString();
+    }
+
+    private String matrix(Map<String, String> query) {
+        List<Place> sources = places(query, "sources");
+        List<Place> targets = places(query, "targets");
+        if ((long) sources.size() * targets.size() > MAXIMUM_MATRIX_CELLS) {
+            throw new IllegalArgumentException("Matrix is larger than " + MAXIMUM_MATRIX_CELLS + " cells");
+        }
+
+        DistanceMatrix<Place> matrix = graph.snapshot().distanceMatrix(sources, targets);
+        StringBuilder json = new StringBuilder("{\"sources\":");
+        appendNames(json, sources).append(",\"targets\":");
+        appendNames(json, targets).append(",\"distances\":[");
+        for (int row = 0; row < sources.size(); row++) {
+            json.append(row == 0 ? "[" : ",[");
+            for (int column = 0; column < targets.size(); column++) {
+                json.append(column == 0 ? "" : ",").append(matrix.getDistance(row, column));
+            }
+            json.append(']');
+        }
+        return json.append("]}").toString();
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, error("Only GET is supported"));
+                return;
+            }
+            if (!permits.tryAcquire(admissionTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 503, error("Too many concurrent requests"));
+                return;
+            }
+            try {
+                respond(exchange, 200, endpoint.handle(parseQuery(exchange.getRequestURI().getRawQuery())));
+            } catch (NoSuchElementException e) {
+                respond(exchange, 404, error("Unknown place"));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, error(e.getMessage()));
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, error("Server is shutting down"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String error(String message) {
+        return appendString(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static Place place(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return new Place(value, 0, 0);
+    }
+
+    private static List<Place> places(Map<String, String> query, String name) {
+        List<Place> places = new ArrayList<>();
+        for (String value : query.getOrDefault(name, "").split(",")) {
+            if (!value.isEmpty()) {
+                places.add(new Place(value, 0, 0));
+            }
+        }
+        if (places.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return places;
+    }
+
+    private static StringBuilder appendNames(StringBuilder json, List<Place> places) {
+        json.append('[');
+        for (int i = 0; i < places.size(); i++) {
+            appendString(json.append(i == 0 ? "" : ","), places.get(i).getName());
+        }
+        return json.append(']');
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\')
+                json.append('\\').append(c);
+            else if (c < 0x20)
+                json.append(String.format("\\u%04x", (int) c));
+            else
+                json.append(c);
+        }
+        return json.append('"');
+    }
+
+    private static ExecutorService newRequestExecutor(int fallbackThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(fallbackThreads, runnable -> {
+                Thread thread = new Thread(runnable, "routing-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private interface Endpoint {
+        String handle(Map<String, String> query) throws InterruptedException;
+    }
+
+    private static class Batch {
+        private final Set<Place> targets = new HashSet<>();
+        private final CompletableFuture<Map<Place, Route<Place>>> routes = new CompletableFuture<>();
+        private boolean closed;
+
+        synchronized boolean join(Place target) {
+            if (closed) {
+                return false;
+            }
+            targets.add(target);
+            return true;
+        }
+
+        synchronized Set<Place> close() {
+            closed = true;
+            return targets;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package findthepath.ui;
+
+import java.util.*;
+
+class EdgeIndex {
+    private static final int MAXIMUM_CELLS_PER_SEGMENT = 64;
+
+    private final double cellSize;
+    private final Map<Long, List<Segment>> cells = new HashMap<>();
+    private final List<Segment> spanning = new ArrayList<>();
+
+    EdgeIndex(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException();
+        }
+        this.cellSize = cellSize;
+    }
+
+    void add(Location from, Location to) {
+        Segment segment = new Segment(from, to);
+        if (spans(segment)) {
+            spanning.add(segment);
+            return;
+        }
+        for (int cellX = cell(segment.minX); cellX <= cell(segment.maxX); cellX++) {
+            for (int cellY = cell(segment.minY); cellY <= cell(segment.maxY); cellY++) {
+                cells.computeIfAbsent(key(cellX, cellY), key -> new ArrayList<>(4)).add(segment);
+            }
+        }
+    }
+
+    void remove(Location from, Location to) {
+        Segment segment = new Segment(from, to);
+        if (spans(segment)) {
+            spanning.remove(segment);
+            return;
+        }
+        for (int cellX = cell(segment.minX); cellX <= cell(segment.maxX); cellX++) {
+            for (int cellY = cell(segment.minY); cellY <= cell(segment.maxY); cellY++) {
+                long key = key(cellX, cellY);
+                List<Segment> cell = cells.get(key);
+                if (cell != null && cell.remove(segment) && cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        cells.clear();
+        spanning.clear();
+    }
+
+    List<Location[]> range(double minX, double minY, double maxX, double maxY) {
+        Set<Segment> found = new LinkedHashSet<>();
+        int fromX = cell(minX);
+        int fromY = cell(minY);
+        int toX = cell(maxX);
+        int toY = cell(maxY);
+        if ((long) (toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+            for (List<Segment> cell : cells.values()) {
+                collect(cell, minX, minY, maxX, maxY, found);
+            }
+        } else {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                for (int cellY = fromY; cellY <= toY; cellY++) {
+                    List<Segment> cell = cells.get(key(cellX, cellY));
+                    if (cell != null) {
+                        collect(cell, minX, minY, maxX, maxY, found);
+                    }
+                }
+            }
+        }
+        collect(spanning, minX, minY, maxX, maxY, found);
+
+        List<Location[]> result = new ArrayList<>(found.size());
+        for (Segment segment : found) {
+            result.add(new Location[]{segment.from, segment.to});
+        }
+        return result;
+    }
+
+    private boolean spans(Segment segment) {
+        return ((long) cell(segment.maxX) - cell(segment.minX) + 1)
+                * ((long) cell(segment.maxY) - cell(segment.minY) + 1) > MAXIMUM_CELLS_PER_SEGMENT;
+    }
+
+    private static void collect(List<Segment> cell, double minX, double minY, double maxX, double maxY,
+                                Set<Segment> found) {
+        for (Segment segment : cell) {
+            if (segment.maxX >= minX && segment.minX <= maxX && segment.maxY >= minY && segment.minY <= maxY) {
+                found.add(segment);
+            }
+        }
+    }
+
+    private int cell(double coordinate) {
+        double cell = Math.floor(coordinate / cellSize);
+        if (cell >= Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+        if (cell <= Integer.MIN_VALUE) {
+            return Integer.MIN_VALUE;
+        }
+        return (int) cell;
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    private static class Segment {
+        private final Location from;
+        private final Location to;
+        private final double minX;
+        private final double minY;
+        private final double maxX;
+        private final double maxY;
+
+        Segment(Location from, Location to) {
+            this.from = from;
+            this.to = to;
+            minX = Math.min(from.getCenterX(), to.getCenterX());
+            minY = Math.min(from.getCenterY(), to.getCenterY());
+            maxX = Math.max(from.getCenterX(), to.getCenterX());
+            maxY = Math.max(from.getCenterY(), to.getCenterY());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Segment)) {
+                return false;
+            }
+            Segment segment = (Segment) other;
+            return from == segment.from && to == segment.to || from == segment.to && to == segment.from;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(from) ^ System.identityHashCode(to);
+        }
+    }
+}
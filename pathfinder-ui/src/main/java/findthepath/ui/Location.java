@@ -1,3 +1,4 @@
+package findthepath.ui;
 
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
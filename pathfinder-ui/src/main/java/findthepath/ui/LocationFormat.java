@@ -0,0 +1,30 @@
+package findthepath.ui;
+
+import findthepath.graph.NodeFormat;
+
+public class LocationFormat implements NodeFormat<Location> {
+    private static final double RADIUS = 8;
+
+    @Override
+    public Location create(String name, double x, double y) {
+        Location location = new Location(x, y, RADIUS);
+        location.setName(name);
+        location.setId(name);
+        return location;
+    }
+
+    @Override
+    public String getName(Location location) {
+        return location.getName();
+    }
+
+    @Override
+    public double getX(Location location) {
+        return location.getCenterX();
+    }
+
+    @Override
+    public double getY(Location location) {
+        return location.getCenterY();
+    }
+}
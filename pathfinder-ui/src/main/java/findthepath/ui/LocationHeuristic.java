@@ -0,0 +1,47 @@
+package findthepath.ui;
+
+import findthepath.graph.Edge;
+import findthepath.graph.Graph;
+
+import java.util.function.ToDoubleBiFunction;
+
+public class LocationHeuristic implements ToDoubleBiFunction<Location, Location> {
+    private final double timePerPixel;
+
+    public LocationHeuristic(double timePerPixel) {
+        if (timePerPixel < 0)
+            throw new IllegalArgumentException();
+        this.timePerPixel = timePerPixel;
+    }
+
+    public static LocationHeuristic forGraph(Graph<Location> graph) {
+        double minimumTimePerPixel = Double.POSITIVE_INFINITY;
+
+        for (Location location : graph.getNodes()) {
+            for (Edge<Location> edge : graph.getEdgesFrom(location)) {
+                double distance = distance(location, edge.getDestination());
+                if (distance > 0) {
+                    minimumTimePerPixel = Math.min(minimumTimePerPixel, edge.getWeight() / distance);
+                }
+            }
+        }
+
+        if (Double.isInfinite(minimumTimePerPixel))
+            return new LocationHeuristic(0);
+        else
+            return new LocationHeuristic(minimumTimePerPixel);
+    }
+
+    public double getTimePerPixel() {
+        return timePerPixel;
+    }
+
+    @Override
+    public double applyAsDouble(Location from, Location to) {
+        return timePerPixel * distance(from, to);
+    }
+
+    private static double distance(Location from, Location to) {
+        return Math.hypot(from.getCenterX() - to.getCenterX(), from.getCenterY() - to.getCenterY());
+    }
+}
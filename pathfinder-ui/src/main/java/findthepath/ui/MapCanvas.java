@@ -0,0 +1,234 @@
+package findthepath.ui;
+
+import findthepath.graph.Edge;
+import findthepath.graph.GraphListener;
+import findthepath.graph.ListGraph;
+import findthepath.graph.SpatialGrid;
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+
+import java.util.*;
+
+public class MapCanvas extends Canvas implements GraphListener<Location> {
+    private static final double MINIMUM_SCALE = 0.05;
+    private static final double MAXIMUM_SCALE = 16;
+    private static final double MINIMUM_EDGE_PIXELS = 3;
+    private static final double MINIMUM_RADIUS_PIXELS = 2;
+    private static final double RADIUS = 8;
+    private static final double EDGE_CELL_SIZE = 128;
+
+    private ListGraph<Location> graph;
+    private SpatialGrid<Location> index;
+    private final EdgeIndex edgeIndex = new EdgeIndex(EDGE_CELL_SIZE);
+    private boolean edgeIndexStale;
+    private Location fromLocation;
+    private Location toLocation;
+    private Image image;
+    private double offsetX;
+    private double offsetY;
+    private double scale = 1;
+    private double dragX;
+    private double dragY;
+    private boolean redrawRequested;
+
+    public MapCanvas() {
+        widthProperty().addListener(observable -> requestRedraw());
+        heightProperty().addListener(observable -> requestRedraw());
+
+        addEventHandler(MouseEvent.MOUSE_PRESSED, event -> {
+            dragX = event.getX();
+            dragY = event.getY();
+        });
+        addEventHandler(MouseEvent.MOUSE_DRAGGED, event -> {
+            if (event.isPrimaryButtonDown()) {
+                offsetX -= (event.getX() - dragX) / scale;
+                offsetY -= (event.getY() - dragY) / scale;
+                dragX = event.getX();
+                dragY = event.getY();
+                requestRedraw();
+            }
+        });
+        addEventHandler(ScrollEvent.SCROLL, event -> {
+            double factor = event.getDeltaY() > 0 ? 1.25 : 0.8;
+            zoom(event.getX(), event.getY(), factor);
+        });
+    }
+
+    public void setMap(Image image, ListGraph<Location> graph, SpatialGrid<Location> index) {
+        if (this.graph != graph) {
+            graph.addGraphListener(this);
+        }
+        this.image = image;
+        this.graph = graph;
+        this.index = index;
+
+        rebuildEdgeIndex();
+        offsetX = 0;
+        offsetY = 0;
+        scale = 1;
+        requestRedraw();
+    }
+
+    public void setSelection(Location fromLocation, Location toLocation) {
+        this.fromLocation = fromLocation;
+        this.toLocation = toLocation;
+        requestRedraw();
+    }
+
+    public void zoom(double screenX, double screenY, double factor) {
+        double newScale = Math.max(MINIMUM_SCALE, Math.min(MAXIMUM_SCALE, scale * factor));
+        offsetX = toWorldX(screenX) - screenX / newScale;
+        offsetY = toWorldY(screenY) - screenY / newScale;
+        scale = newScale;
+        requestRedraw();
+    }
+
+    public double toWorldX(double screenX) {
+        return offsetX + screenX / scale;
+    }
+
+    public double toWorldY(double screenY) {
+        return offsetY + screenY / scale;
+    }
+
+    public Location locationAt(double screenX, double screenY) {
+        if (index == null) {
+            return null;
+        }
+        return index.nearestWithin(toWorldX(screenX), toWorldY(screenY), screenRadius() / scale);
+    }
+
+    public void requestRedraw() {
+        if (!redrawRequested) {
+            redrawRequested = true;
+            Platform.runLater(this::redraw);
+        }
+    }
+
+    public void redraw() {
+        redrawRequested = false;
+        GraphicsContext context = getGraphicsContext2D();
+        double width = getWidth();
+        double height = getHeight();
+        context.clearRect(0, 0, width, height);
+        if (graph == null) {
+            return;
+        }
+
+        if (image != null) {
+            context.drawImage(image, -offsetX * scale, -offsetY * scale,
+                    image.getWidth() * scale, image.getHeight() * scale);
+        }
+
+        double minX = offsetX;
+        double minY = offsetY;
+        double maxX = offsetX + width / scale;
+        double maxY = offsetY + height / scale;
+        if (edgeIndexStale) {
+            rebuildEdgeIndex();
+        }
+        drawEdges(context, edgeIndex.range(minX, minY, maxX, maxY));
+
+        double worldRadius = screenRadius() / scale;
+        drawLocations(context, index.range(minX - worldRadius, minY - worldRadius,
+                maxX + worldRadius, maxY + worldRadius));
+    }
+
+    @Override
+    public void nodeAdded(Location node) {
+        requestRedraw();
+    }
+
+    @Override
+    public void nodeRemoved(Location node) {
+        if (node == fromLocation || node == toLocation) {
+            setSelection(node == fromLocation ? null : fromLocation, node == toLocation ? null : toLocation);
+        }
+        edgeIndexStale = true;
+        requestRedraw();
+    }
+
+    @Override
+    public void connected(Location node1, Location node2, String name, int weight) {
+        edgeIndex.add(node1, node2);
+        requestRedraw();
+    }
+
+    @Override
+    public void disconnected(Location node1, Location node2) {
+        edgeIndex.remove(node1, node2);
+        requestRedraw();
+    }
+
+    private void drawEdges(GraphicsContext context, List<Location[]> edges) {
+        double minimumLength = scale < 1 ? MINIMUM_EDGE_PIXELS / scale : 0;
+
+        context.setStroke(Color.BLUE);
+        context.setLineWidth(1);
+        context.beginPath();
+        for (Location[] edge : edges) {
+            Location from = edge[0];
+            Location to = edge[1];
+            if (length(from, to) < minimumLength) {
+                continue;
+            }
+            context.moveTo(toScreenX(from.getCenterX()), toScreenY(from.getCenterY()));
+            context.lineTo(toScreenX(to.getCenterX()), toScreenY(to.getCenterY()));
+        }
+        context.stroke();
+    }
+
+    private void drawLocations(GraphicsContext context, List<Location> locations) {
+        double radius = screenRadius();
+
+        context.setFill(Color.BLUE);
+        for (Location location : locations) {
+            if (location != fromLocation && location != toLocation) {
+                context.fillOval(toScreenX(location.getCenterX()) - radius, toScreenY(location.getCenterY()) - radius,
+                        2 * radius, 2 * radius);
+            }
+        }
+        context.setFill(Color.RED);
+        for (Location location : locations) {
+            if (location == fromLocation || location == toLocation) {
+                context.fillOval(toScreenX(location.getCenterX()) - radius, toScreenY(location.getCenterY()) - radius,
+                        2 * radius, 2 * radius);
+            }
+        }
+    }
+
+    private void rebuildEdgeIndex() {
+        edgeIndex.clear();
+        Set<Location> indexed = new HashSet<>();
+        for (Location from : graph.getNodes()) {
+            for (Edge<Location> edge : graph.getEdgesFrom(from)) {
+                if (!indexed.contains(edge.getDestination())) {
+                    edgeIndex.add(from, edge.getDestination());
+                }
+            }
+            indexed.add(from);
+        }
+        edgeIndexStale = false;
+    }
+
+    private double screenRadius() {
+        return Math.max(MINIMUM_RADIUS_PIXELS, RADIUS * scale);
+    }
+
+    private double toScreenX(double worldX) {
+        return (worldX - offsetX) * scale;
+    }
+
+    private double toScreenY(double worldY) {
+        return (worldY - offsetY) * scale;
+    }
+
+    private static double length(Location from, Location to) {
+        return Math.hypot(from.getCenterX() - to.getCenterX(), from.getCenterY() - to.getCenterY());
+    }
+}
@@ -1,5 +1,14 @@
-
+package findthepath.ui;
+
+import findthepath.graph.CsrGraph;
+import findthepath.graph.Edge;
+import findthepath.graph.GraphFile;
+import findthepath.graph.GraphJournal;
+import findthepath.graph.ListGraph;
+import findthepath.graph.Route;
+import findthepath.graph.SpatialGrid;
 import javafx.application.Application;
+import javafx.concurrent.Task;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.event.ActionEvent;
 import javafx.event.Event;
@@ -22,18 +31,38 @@ import javafx.stage.WindowEvent;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class PathFinder extends Application {
 
-    private ListGraph<Location> locationGraph = new ListGraph<>();
+    private static final double LOCATION_RADIUS = 8;
+
+    private final SpatialGrid<Location> locationIndex = new SpatialGrid<>(new LocationFormat(), 8 * LOCATION_RADIUS);
+    private ListGraph<Location> locationGraph = newLocationGraph();
+    private volatile Routing routing;
+    private final ExecutorService searchExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "path-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Task<Route<Location>> searchTask;
+    private final GraphJournal<Location> journal = new GraphJournal<>(Paths.get("europa.graph"), new LocationFormat());
 
     private Location fromLocation;
     private Location toLocation;
     private Pane outputPane;
     private Image image;
     private ImageView imageView;
+    private MapCanvas mapCanvas;
+    private boolean canvasRendering;
     private Button newPlace;
+    private Button cancelSearch;
+    private Label searchStatus;
     private TextField nameField;
     private TextField timeField;
     private VBox topVBox;
@@ -48,6 +77,8 @@ public class PathFinder extends Application {
         outputPane = new Pane();
         outputPane.setId("outputArea");
         imageView = new ImageView();
+        mapCanvas = new MapCanvas();
+        mapCanvas.setOnMouseClicked(new CanvasClickHandler());
         image = new Image("file:europa.gif");
         Scene scene = new Scene(root, 600, 100);
 
@@ -79,7 +110,16 @@ public class PathFinder extends Application {
         exit.setId("menuExit");
 
         menuFile.getItems().addAll(newMap, open, save, saveImage, exit);
-        menuBar.getMenus().add(menuFile);
+
+        Menu menuView = new Menu("View");
+        menuView.setId("menuView");
+
+        CheckMenuItem canvasRenderingItem = new CheckMenuItem("Canvas Rendering");
+        canvasRenderingItem.setOnAction(new RenderingModeHandler());
+        canvasRenderingItem.setId("menuCanvasRendering");
+
+        menuView.getItems().add(canvasRenderingItem);
+        menuBar.getMenus().addAll(menuFile, menuView);
 
         Button findPath = new Button("Find Path");
         findPath.setOnMouseClicked(new FindPathHandler());
@@ -101,8 +141,17 @@ public class PathFinder extends Application {
         changeConnection.setOnMouseClicked(new ChangeConnectionHandler());
         changeConnection.setId("btnChangeConnection");
 
+        cancelSearch = new Button("Cancel Search");
+        cancelSearch.setOnAction(event -> cancelSearch());
+        cancelSearch.setDisable(true);
+        cancelSearch.setId("btnCancelSearch");
+
+        searchStatus = new Label();
+        searchStatus.setId("lblSearchStatus");
+
         HBox bottom = new HBox();
-        bottom.getChildren().addAll(findPath, showConnection, newPlace, newConnection, changeConnection);
+        bottom.getChildren().addAll(findPath, showConnection, newPlace, newConnection, changeConnection,
+                cancelSearch, searchStatus);
         bottom.setAlignment(Pos.CENTER);
         bottom.setPadding(new Insets(10));
         bottom.setSpacing(5);
@@ -117,68 +166,122 @@ public class PathFinder extends Application {
         primaryStage.show();
     }
 
-    private void parseLocations(BufferedReader reader) throws IOException {
-        String nodeDetails = reader.readLine();
-        String[] nodeDetailsArray = nodeDetails.split(";");
+    private ListGraph<Location> newLocationGraph() {
+        locationIndex.clear();
+        ListGraph<Location> graph = new ListGraph<>();
+        graph.addGraphListener(locationIndex);
+        return graph;
+    }
 
-        for (int i = 0; i < nodeDetailsArray.length - 1; i += 3) {
-            String name = nodeDetailsArray[i];
-            double x = Double.parseDouble(nodeDetailsArray[i + 1]);
-            double y = Double.parseDouble(nodeDetailsArray[i + 2]);
+    private Routing getRouting(ListGraph<Location> graph, long modificationCount, Task<?> task) {
+        Routing current = routing;
+        if (current != null && current.source == graph && current.modificationCount == modificationCount) {
+            return current;
+        }
 
-            Location newLocation = new Location(x, y, 8);
-            newLocation.setName(name);
-            newLocation.setId(newLocation.getName());
+        CsrGraph<Location> routingGraph = new CsrGraph<>(graph);
+        Routing next = new Routing(graph, modificationCount, routingGraph, LocationHeuristic.forGraph(routingGraph));
+        if (!task.isCancelled()) {
+            routing = next;
+        }
+        return next;
+    }
 
-            locationGraph.add(newLocation);
-            newLocation.setOnMouseClicked(new MarkLocationHandler());
+    private void cancelSearch() {
+        if (searchTask != null) {
+            searchTask.cancel(true);
+            searchTask = null;
+            searchStatus.textProperty().unbind();
+            searchStatus.setText("Search cancelled");
+            cancelSearch.setDisable(true);
+        }
+    }
+
+    private void showError(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR, message);
+        alert.showAndWait();
+    }
 
-            outputPane.getChildren().add(newLocation);
+    private void drawLineAndConnect(Location from, Location to, String name, int time) {
+        if (locationGraph.getEdgeBetween(from, to) == null) {
+            cancelSearch();
+            locationGraph.connect(from, to, name, time);
+            drawLine(from, to);
         }
     }
 
-    private void parseEdges(String edgeDetails) throws IOException {
-        String[] edgeDetailsArray = edgeDetails.split(";");
+    private void showMap() {
+        outputPane.getChildren().clear();
 
-        Location nodeA = getLocation(edgeDetailsArray[0]);
-        Location nodeB = getLocation(edgeDetailsArray[1]);
-        String edgeName = edgeDetailsArray[2];
-        int weight = Integer.parseInt(edgeDetailsArray[3]);
+        if (canvasRendering) {
+            mapCanvas.setWidth(image.getWidth());
+            mapCanvas.setHeight(image.getHeight());
+            mapCanvas.setMap(image, locationGraph, locationIndex);
+            mapCanvas.setSelection(fromLocation, toLocation);
+            outputPane.getChildren().add(mapCanvas);
+        } else {
+            imageView.setImage(image);
+            outputPane.getChildren().add(imageView);
+
+            for (Location location : locationGraph.getNodes()) {
+                showLocation(location);
+            }
 
-        if (nodeA != null && nodeB != null) {
-            if (locationGraph.getEdgeBetween(nodeA, nodeB) == null) {
-                drawLineAndConnect(nodeA, nodeB, edgeName, weight);
+            Set<Location> drawnLocations = new HashSet<>();
+            for (Location location : locationGraph.getNodes()) {
+                for (Edge<Location> edge : locationGraph.getEdgesFrom(location)) {
+                    if (!drawnLocations.contains(edge.getDestination())) {
+                        drawLine(location, edge.getDestination());
+                    }
+                }
+                drawnLocations.add(location);
             }
         }
     }
 
-    private Location getLocation(String name) {
-        for (Location location : locationGraph.getNodes()) {
-            if (location != null) {
-                if (location.getName().equals(name)) {
-                    return location;
-                }
-            }
+    private void showLocation(Location location) {
+        if (!canvasRendering) {
+            location.setOnMouseClicked(new MarkLocationHandler());
+            outputPane.getChildren().add(location);
         }
-        return null;
     }
 
-    private void showError(String message) {
-        Alert alert = new Alert(Alert.AlertType.ERROR, message);
-        alert.showAndWait();
+    private void markLocation(Location source) {
+        cancelSearch();
+        if (fromLocation == null) {
+            fromLocation = source;
+            fromLocation.markedLocation();
+        } else if (toLocation == null && source != fromLocation) {
+            toLocation = source;
+            toLocation.markedLocation();
+        } else if (source == fromLocation) {
+            fromLocation.unmarkedLocation();
+            if (toLocation != null) {
+                fromLocation = toLocation;
+                toLocation = null;
+            } else {
+                fromLocation = null;
+            }
+        } else if (source == toLocation) {
+            toLocation.unmarkedLocation();
+            toLocation = null;
+        }
+        if (canvasRendering) {
+            mapCanvas.setSelection(fromLocation, toLocation);
+        }
     }
 
-    private void drawLineAndConnect(Location from, Location to, String name, int time) {
-        if (locationGraph.getEdgeBetween(from, to) == null) {
-            locationGraph.connect(from, to, name, time);
-            Line line = new Line(from.getCenterX(),
-                    from.getCenterY(),
-                    to.getCenterX(),
-                    to.getCenterY());
-            line.setStroke(Color.BLUE);
-            line.setDisable(true);
-            outputPane.getChildren().add(line);
+    private void drawLine(Location from, Location to) {
+        if (canvasRendering) {
+            return;
         }
+        Line line = new Line(from.getCenterX(),
+                from.getCenterY(),
+                to.getCenterX(),
+                to.getCenterY());
+        line.setStroke(Color.BLUE);
+        line.setDisable(true);
+        outputPane.getChildren().add(line);
     }
 
     private void showEdgeConfirmation(TextField name, TextField time) {
@@ -207,8 +310,11 @@ public class PathFinder extends Application {
     private void clearOutputPane() {
         fromLocation = null;
         toLocation = null;
+        mapCanvas.setSelection(null, null);
         unsavedChanges = true;
-        locationGraph = new ListGraph<>();
+        cancelSearch();
+        locationGraph = newLocationGraph();
+        routing = null;
         outputPane.getChildren().clear();
     }
 
@@ -217,8 +323,9 @@ public class PathFinder extends Application {
         public void handle(ActionEvent e) {
             if (unsavedChanges(e)) {
                 clearOutputPane();
-                imageView.setImage(image);
-                outputPane.getChildren().add(imageView);
+                journal.reset();
+                locationGraph.addGraphListener(journal);
+                showMap();
                 primaryStage.setHeight(topVBox.getHeight() + image.getHeight());
                 primaryStage.setWidth(image.getWidth());
                 unsavedChanges = true;
@@ -232,23 +339,14 @@ public class PathFinder extends Application {
             try {
                 if (unsavedChanges(actionEvent)) {
                     clearOutputPane();
-                    BufferedReader reader = new BufferedReader(new FileReader("europa.graph"));
-                    String imageUrl = reader.readLine();
+                    GraphFile<Location> graphFile = journal.load(locationGraph);
+                    locationGraph.addGraphListener(journal);
 
-                    image = new Image(imageUrl);
-                    imageView.setImage(image);
-                    outputPane.getChildren().add(imageView);
+                    image = new Image(graphFile.getImageUrl());
+                    showMap();
                     primaryStage.setHeight(topVBox.getHeight() + image.getHeight());
                     primaryStage.setWidth(image.getWidth());
-
-                    parseLocations(reader);
-
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        parseEdges(line);
-                    }
                     unsavedChanges = true;
-                    reader.close();
                 }
             } catch (IOException e) {
                 showError("File not found!");
@@ -260,23 +358,8 @@ public class PathFinder extends Application {
         @Override
         public void handle(ActionEvent actionEvent) {
             try {
-                BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter("europa.graph"));
-                PrintWriter printWriter = new PrintWriter(bufferedWriter);
-
-                printWriter.println("file:europa.gif");
-                for (Location location : locationGraph.getNodes()) {
-                    printWriter.print(location.getName() + ";" + location.getCenterX() + ";" + location.getCenterY() + ";");
-                }
-                printWriter.println();
-
-                for (Location location : locationGraph.getNodes()) {
-                    for (Edge edge : locationGraph.getEdgesFrom(location)) {
-                        printWriter.print(location.getName() + ";" + edge.getDestination() + ";" + edge.getName() + ";" + edge.getWeight() + "\n");
-                    }
-                }
+                journal.save(locationGraph, "file:europa.gif");
                 unsavedChanges = false;
-                printWriter.close();
-
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -301,27 +384,75 @@ public class PathFinder extends Application {
         @Override
         public void handle(MouseEvent mouseEvent) {
             if (fromLocation != null && toLocation != null) {
-                TextArea textArea = new TextArea();
-                Alert showPath = new Alert(Alert.AlertType.CONFIRMATION);
-                showPath.setTitle("Find Path");
-                showPath.setHeaderText("Path from " + fromLocation + " to " + toLocation);
-                GridPane grid = new GridPane();
-                grid.addRow(0, textArea);
-                showPath.getDialogPane().setContent(grid);
-
-                int totalTime = 0;
-                for (Edge edge : locationGraph.getPath(fromLocation, toLocation)) {
-                    textArea.appendText(edge.toString() + "\n");
-                    totalTime += edge.getWeight();
-                }
-                textArea.appendText("Total " + totalTime);
-                textArea.setEditable(false);
-
-                showPath.showAndWait();
+                cancelSearch();
+
+                Location from = fromLocation;
+                Location to = toLocation;
+                ListGraph<Location> source = locationGraph;
+                long modificationCount = source.getModificationCount();
+                Task<Route<Location>> task = new Task<Route<Location>>() {
+                    @Override
+                    protected Route<Location> call() {
+                        updateMessage("Preparing search...");
+                        Routing routing = getRouting(source, modificationCount, this);
+                        updateMessage("Searching...");
+                        return routing.graph.shortestPath(from, to, routing.heuristic,
+                                settled -> updateMessage("Searching... " + settled + " places settled"));
+                    }
+                };
+
+                searchTask = task;
+                searchStatus.textProperty().bind(task.messageProperty());
+                cancelSearch.setDisable(false);
+                task.setOnSucceeded(event -> {
+                    if (finishSearch(task, "")) {
+                        showRoute(from, to, task.getValue());
+                    }
+                });
+                task.setOnFailed(event -> {
+                    if (finishSearch(task, "Search failed")) {
+                        showError("Path search failed: " + task.getException().getMessage());
+                    }
+                });
+                searchExecutor.execute(task);
             } else {
                 showError("Two places must be selected!");
             }
         }
+
+        private boolean finishSearch(Task<Route<Location>> task, String status) {
+            if (searchTask != task) {
+                return false;
+            }
+            searchTask = null;
+            searchStatus.textProperty().unbind();
+            searchStatus.setText(status);
+            cancelSearch.setDisable(true);
+            return true;
+        }
+
+        private void showRoute(Location from, Location to, Route<Location> route) {
+            if (route == null) {
+                showError("There is no path between the locations!");
+                return;
+            }
+
+            TextArea textArea = new TextArea();
+            Alert showPath = new Alert(Alert.AlertType.CONFIRMATION);
+            showPath.setTitle("Find Path");
+            showPath.setHeaderText("Path from " + from + " to " + to);
+            GridPane grid = new GridPane();
+            grid.addRow(0, textArea);
+            showPath.getDialogPane().setContent(grid);
+
+            for (Edge<Location> edge : route.getEdges()) {
+                textArea.appendText(edge.toString() + "\n");
+            }
+            textArea.appendText("Total " + route.getTotalWeight());
+            textArea.setEditable(false);
+
+            showPath.showAndWait();
+        }
     }
 
     class ShowConnectionHandler implements EventHandler<MouseEvent> {
@@ -362,7 +493,6 @@ public class PathFinder extends Application {
             if (fromLocation != null && toLocation != null) {
                 try {
                     Edge fromAtoB = locationGraph.getEdgeBetween(fromLocation, toLocation);
-                    Edge fromBtoA = locationGraph.getEdgeBetween(toLocation, fromLocation);
 
                     nameField.setText(fromAtoB.getName());
                     nameField.setEditable(false);
@@ -380,8 +510,8 @@ public class PathFinder extends Application {
 
                     int time = Integer.parseInt(timeField.getText());
 
-                    fromBtoA.setWeight(time);
-                    fromAtoB.setWeight(time);
+                    cancelSearch();
+                    locationGraph.setConnectionWeight(fromLocation, toLocation, time);
                     unsavedChanges = true;
                 } catch (NumberFormatException e) {
                     showError("'Time' field cannot be empty");
@@ -414,6 +544,13 @@ public class PathFinder extends Application {
         public void handle(MouseEvent mouseEvent) {
             double x = mouseEvent.getX();
             double y = mouseEvent.getY();
+            if (canvasRendering) {
+                if (!mouseEvent.isStillSincePress()) {
+                    return;
+                }
+                x = mapCanvas.toWorldX(x);
+                y = mapCanvas.toWorldY(y);
+            }
 
             Alert getName = new Alert(Alert.AlertType.CONFIRMATION);
             GridPane grid = new GridPane();
@@ -427,14 +564,13 @@ public class PathFinder extends Application {
                 showError("Location name can't be empty");
                 newPlace.setDisable(false);
             } else {
-                Location location = new Location(x, y, 8);
-                location.setOnMouseClicked(new MarkLocationHandler());
-
+                Location location = new Location(x, y, LOCATION_RADIUS);
                 location.setName(nameField.getText());
+                cancelSearch();
                 locationGraph.add(location);
                 location.setId(location.getName());
 
-                outputPane.getChildren().add(location);
+                showLocation(location);
                 outputPane.setOnMouseClicked(null);
                 newPlace.setDisable(false);
                 outputPane.setCursor(Cursor.DEFAULT);
@@ -445,27 +581,29 @@ public class PathFinder extends Application {
     class MarkLocationHandler implements EventHandler<MouseEvent> {
         @Override
         public void handle(MouseEvent event) {
-            Location source = (Location) event.getSource();
-
-            if (fromLocation == null) {
-                fromLocation = source;
-                fromLocation.markedLocation();
-            } else if (toLocation == null && source != fromLocation) {
-                toLocation = source;
-                toLocation.markedLocation();
-            } else if (source == fromLocation) {
-                fromLocation.unmarkedLocation();
-                if (toLocation != null) {
-                    fromLocation = toLocation;
-                    toLocation = null;
-                } else {
-                    fromLocation = null;
+            markLocation((Location) event.getSource());
+        }
+    }
+
+    class CanvasClickHandler implements EventHandler<MouseEvent> {
+        @Override
+        public void handle(MouseEvent event) {
+            if (event.isStillSincePress()) {
+                Location location = mapCanvas.locationAt(event.getX(), event.getY());
+                if (location != null) {
+                    markLocation(location);
                 }
-            } else if (source == toLocation) {
-                toLocation.unmarkedLocation();
-                toLocation = null;
             }
+        }
+    }
 
+    class RenderingModeHandler implements EventHandler<ActionEvent> {
+        @Override
+        public void handle(ActionEvent event) {
+            canvasRendering = ((CheckMenuItem) event.getSource()).isSelected();
+            if (!outputPane.getChildren().isEmpty()) {
+                showMap();
+            }
         }
     }
 
@@ -500,4 +638,19 @@ public class PathFinder extends Application {
             }
         }
     }
-}
\ No newline at end of file
+
+    private static class Routing {
+        private final ListGraph<Location> source;
+        private final long modificationCount;
+        private final CsrGraph<Location> graph;
+        private final LocationHeuristic heuristic;
+
+        Routing(ListGraph<Location> source, long modificationCount, CsrGraph<Location> graph,
+                LocationHeuristic heuristic) {
+            this.source = source;
+            this.modificationCount = modificationCount;
+            this.graph = graph;
+            this.heuristic = heuristic;
+        }
+    }
+}